@@ -50,6 +50,7 @@ dependencies {
     testImplementation("org.openrewrite:rewrite-groovy")
     testImplementation("org.openrewrite:rewrite-kotlin:$rewriteVersion")
     testImplementation("org.openrewrite.gradle.tooling:model:$rewriteVersion")
+    testImplementation("org.ow2.asm:asm:latest.release")
 
     annotationProcessor("org.openrewrite:rewrite-templating:${rewriteVersion}")
     implementation("org.openrewrite:rewrite-templating:${rewriteVersion}")
@@ -73,3 +74,85 @@ dependencies {
 //    testImplementation("org.hamcrest:hamcrest:latest.release")
 //    testImplementation("org.assertj:assertj-core:latest.release")
 }
+
+// Build-time and developer tools, which are kept out of the published jar along with their dependencies
+val tools: SourceSet by sourceSets.creating
+configurations[tools.implementationConfigurationName].extendsFrom(configurations.implementation.get())
+configurations[tools.runtimeOnlyConfigurationName].extendsFrom(configurations.runtimeOnly.get())
+dependencies {
+    "toolsImplementation"(sourceSets.main.get().output.classesDirs)
+    "toolsImplementation"("org.yaml:snakeyaml:latest.release")
+    "toolsImplementation"("org.ow2.asm:asm:latest.release")
+
+    testImplementation(tools.output)
+}
+
+// The declarative recipes in META-INF/rewrite/*.yml stay the source of truth, and are additionally compiled to a
+// binary descriptor that CompiledDeclarativeRecipeLoader loads without parsing YAML or scanning the classpath
+val compiledRecipesDir = layout.buildDirectory.dir("generated/resources/compiledRecipes")
+val compileDeclarativeRecipes by tasks.registering(JavaExec::class) {
+    description = "Compiles the declarative recipes to a binary descriptor."
+    val yamlDir = layout.projectDirectory.dir("src/main/resources/META-INF/rewrite")
+    inputs.files(fileTree(yamlDir) { include("*.yml", "attribution/*.yml") })
+    outputs.dir(compiledRecipesDir)
+    classpath = tools.runtimeClasspath
+    mainClass.set("org.openrewrite.java.testing.internal.DeclarativeRecipeCompiler")
+    args(yamlDir.asFile, compiledRecipesDir.get().file("META-INF/rewrite/compiled/declarative-recipes.bin").asFile)
+}
+
+// The jars of the parser classpath are shipped as API-only stubs of themselves, which is all that templates and
+// parsers type-attribute against
+val parserClasspathDir = layout.projectDirectory.dir("src/main/resources/META-INF/rewrite/classpath")
+val classpathStubsDir = layout.buildDirectory.dir("generated/resources/classpathStubs")
+val stubParserClasspath by tasks.registering(JavaExec::class) {
+    description = "Strips the jars of the parser classpath down to their API."
+    inputs.files(fileTree(parserClasspathDir) { include("*.jar") })
+    outputs.dir(classpathStubsDir)
+    classpath = tools.runtimeClasspath
+    mainClass.set("org.openrewrite.java.testing.internal.ParserClasspathStubs")
+    args(parserClasspathDir.asFile, classpathStubsDir.get().dir("META-INF/rewrite/classpath").asFile)
+}
+
+sourceSets.main {
+    resources.srcDir(compileDeclarativeRecipes)
+    resources.srcDir(stubParserClasspath)
+}
+tasks.processResources {
+    exclude { it.file.toPath().startsWith(parserClasspathDir.asFile.toPath()) }
+}
+
+tasks.register<JavaExec>("recipeWorker") {
+    description = "Starts a worker that runs the recipes of this module on the Java sources of local projects, sent as jobs over a loopback socket."
+    classpath = tools.runtimeClasspath + files(tasks.processResources)
+    mainClass.set("org.openrewrite.java.testing.internal.RecipeWorker")
+    args(
+        "serve",
+        providers.gradleProperty("recipeWorkerTokenFile")
+            .getOrElse(layout.buildDirectory.file("recipeWorker/token").get().asFile.path),
+        providers.gradleProperty("recipeWorkerPort").getOrElse("0")
+    )
+}
+
+tasks.register<JavaExec>("benchmarkDeclarativeRecipeLoading") {
+    description = "Compares the startup time of activating a declarative recipe from the classpath, the YAML and the compiled descriptor."
+    classpath = sourceSets.test.get().runtimeClasspath
+    mainClass.set("org.openrewrite.java.testing.internal.DeclarativeRecipeLoadingBenchmark")
+}
+
+tasks.register<JavaExec>("benchmarkTemplateWarmup") {
+    description = "Compares the latency of the first jobs of a fresh JVM with and without warming up the templates."
+    classpath = sourceSets.test.get().runtimeClasspath
+    mainClass.set("org.openrewrite.java.testing.internal.TemplateWarmupBenchmark")
+}
+
+tasks.register<JavaExec>("benchmarkContextFreeTemplates") {
+    description = "Compares the latency per application of context-sensitive and context-free templates."
+    classpath = sourceSets.test.get().runtimeClasspath
+    mainClass.set("org.openrewrite.java.testing.internal.ContextFreeTemplateBenchmark")
+}
+
+tasks.register<JavaExec>("benchmarkNoChangeCache") {
+    description = "Compares the time of runs over unchanged source files without, with an empty and with a filled no-change cache."
+    classpath = sourceSets.test.get().runtimeClasspath
+    mainClass.set("org.openrewrite.java.testing.internal.NoChangeCacheBenchmark")
+}
@@ -25,6 +25,7 @@ import org.openrewrite.java.tree.*;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Objects;
 
 @Incubating(since = "2.17.0")
 public class CollapseConsecutiveAssertThatStatements extends Recipe {
@@ -46,6 +47,9 @@ public class CollapseConsecutiveAssertThatStatements extends Recipe {
             @Override
             public J.Block visitBlock(J.Block block, ExecutionContext ctx) {
                 J.Block bl = super.visitBlock(block, ctx);
+                if (!hasConsecutiveGroupableAssertions(bl)) {
+                    return bl;
+                }
 
                 List<Statement> statementsCollapsed = new ArrayList<>();
                 for (List<Statement> group : getGroupedStatements(bl)) {
@@ -59,10 +63,23 @@ public class CollapseConsecutiveAssertThatStatements extends Recipe {
                 return bl.withStatements(statementsCollapsed);
             }
 
+            private boolean hasConsecutiveGroupableAssertions(J.Block bl) {
+                boolean previousGroupable = false;
+                for (Statement statement : bl.getStatements()) {
+                    boolean groupable = statement instanceof J.MethodInvocation && isGroupableAssertion((J.MethodInvocation) statement);
+                    if (groupable && previousGroupable) {
+                        return true;
+                    }
+                    previousGroupable = groupable;
+                }
+                return false;
+            }
+
             private List<List<Statement>> getGroupedStatements(J.Block bl) {
                 List<Statement> originalStatements = bl.getStatements();
                 List<List<Statement>> groupedStatements = new ArrayList<>();
                 Expression currentActual = null; // The actual argument of the current group of assertThat statements
+                int currentFingerprint = 0;
                 List<Statement> currentGroup = new ArrayList<>();
                 for (Statement statement : originalStatements) {
                     if (statement instanceof J.MethodInvocation) {
@@ -71,11 +88,15 @@ public class CollapseConsecutiveAssertThatStatements extends Recipe {
                             J.MethodInvocation assertThat = (J.MethodInvocation) assertion.getSelect();
                             assert assertThat != null;
                             Expression actual = assertThat.getArguments().get(0);
-                            if (currentActual == null || !SemanticallyEqual.areEqual(currentActual, actual)) {
+                            int fingerprint = fingerprint(actual);
+                            // Only confirm with a full structural comparison when the fingerprints match
+                            if (currentActual == null || currentFingerprint != fingerprint ||
+                                !SemanticallyEqual.areEqual(currentActual, actual)) {
                                 // Conclude the previous group
                                 groupedStatements.add(currentGroup);
                                 currentGroup = new ArrayList<>();
                                 currentActual = actual;
+                                currentFingerprint = fingerprint;
                             }
                             currentGroup.add(statement);
                             continue;
@@ -96,6 +117,25 @@ public class CollapseConsecutiveAssertThatStatements extends Recipe {
                 return groupedStatements;
             }
 
+            /**
+             * A cheap structural hash of an actual argument, which is equal for semantically equal expressions.
+             * Names are used for identifiers and field accesses alike, as `this.actual` and `actual` may be equal.
+             */
+            private int fingerprint(Expression actual) {
+                Expression e = actual.unwrap();
+                if (e instanceof J.Identifier) {
+                    return ((J.Identifier) e).getSimpleName().hashCode();
+                } else if (e instanceof J.FieldAccess) {
+                    return ((J.FieldAccess) e).getSimpleName().hashCode();
+                } else if (e instanceof J.Literal) {
+                    return Objects.hashCode(((J.Literal) e).getValue());
+                } else if (e instanceof J.ArrayAccess) {
+                    return 31 * fingerprint(((J.ArrayAccess) e).getIndexed()) +
+                           fingerprint(((J.ArrayAccess) e).getDimension().getIndex());
+                }
+                return e.getClass().hashCode();
+            }
+
             private boolean isGroupableAssertion(J.MethodInvocation assertion) {
                 // Only match method invocations where the select is an assertThat, containing a non-method call argument
                 if (ASSERT_THAT.matches(assertion.getSelect())) {
@@ -19,11 +19,12 @@ import org.openrewrite.ExecutionContext;
 import org.openrewrite.Preconditions;
 import org.openrewrite.Recipe;
 import org.openrewrite.TreeVisitor;
-import org.openrewrite.java.JavaIsoVisitor;
 import org.openrewrite.java.JavaParser;
 import org.openrewrite.java.JavaTemplate;
 import org.openrewrite.java.MethodMatcher;
 import org.openrewrite.java.search.UsesType;
+import org.openrewrite.java.testing.internal.ImportLedger;
+import org.openrewrite.java.testing.internal.ImportLedgerVisitor;
 import org.openrewrite.java.tree.Expression;
 import org.openrewrite.java.tree.J;
 import org.openrewrite.java.tree.JavaType;
@@ -49,7 +50,7 @@ public class JUnitAssertArrayEqualsToAssertThat extends Recipe {
         return Preconditions.check(new UsesType<>(JUNIT_QUALIFIED_ASSERTIONS_CLASS_NAME, false), new AssertArrayEqualsToAssertThatVisitor());
     }
 
-    public static class AssertArrayEqualsToAssertThatVisitor extends JavaIsoVisitor<ExecutionContext> {
+    public static class AssertArrayEqualsToAssertThatVisitor extends ImportLedgerVisitor<ExecutionContext> {
         private static final MethodMatcher JUNIT_ASSERT_EQUALS = new MethodMatcher(JUNIT_QUALIFIED_ASSERTIONS_CLASS_NAME + " assertArrayEquals(..)");
 
         private JavaParser.Builder<?, ?> assertionsParser;
@@ -63,6 +64,7 @@ public class JUnitAssertArrayEqualsToAssertThat extends Recipe {
         }
 
 
+
         @Override
         public J.MethodInvocation visitMethodInvocation(J.MethodInvocation method, ExecutionContext ctx) {
             if (!JUNIT_ASSERT_EQUALS.matches(method)) {
@@ -74,8 +76,9 @@ public class JUnitAssertArrayEqualsToAssertThat extends Recipe {
             Expression actual = args.get(1);
 
             // Make sure there is a static import for "org.assertj.core.api.Assertions.assertThat" (even if not referenced)
-            maybeAddImport("org.assertj.core.api.Assertions", "assertThat", false);
-            maybeRemoveImport(JUNIT_QUALIFIED_ASSERTIONS_CLASS_NAME);
+            ImportLedger.of(this)
+                    .addImport("org.assertj.core.api.Assertions", "assertThat", false)
+                    .removeImport(JUNIT_QUALIFIED_ASSERTIONS_CLASS_NAME);
 
             if (args.size() == 2) {
                 return JavaTemplate.builder("assertThat(#{anyArray()}).containsExactly(#{anyArray()});")
@@ -94,7 +97,7 @@ public class JUnitAssertArrayEqualsToAssertThat extends Recipe {
                         .build()
                         .apply(getCursor(), method.getCoordinates().replace(), actual, message, expected);
             } else if (args.size() == 3) {
-                maybeAddImport("org.assertj.core.api.Assertions", "within", false);
+                ImportLedger.of(this).addImport("org.assertj.core.api.Assertions", "within", false);
                 // assert is using floating points with a delta and no message.
                 return JavaTemplate.builder("assertThat(#{anyArray()}).containsExactly(#{anyArray()}, within(#{any()}));")
                         .staticImports("org.assertj.core.api.Assertions.assertThat", "org.assertj.core.api.Assertions.within")
@@ -105,7 +108,7 @@ public class JUnitAssertArrayEqualsToAssertThat extends Recipe {
 
             // The assertEquals is using a floating point with a delta argument and a message.
             Expression message = args.get(3);
-            maybeAddImport("org.assertj.core.api.Assertions", "within", false);
+            ImportLedger.of(this).addImport("org.assertj.core.api.Assertions", "within", false);
 
             JavaTemplate.Builder template = TypeUtils.isString(message.getType()) ?
                     JavaTemplate.builder("assertThat(#{anyArray()}).as(#{any(String)}).containsExactly(#{anyArray()}, within(#{any()}));") :
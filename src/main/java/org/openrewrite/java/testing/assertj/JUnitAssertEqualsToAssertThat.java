@@ -19,11 +19,12 @@ import org.openrewrite.ExecutionContext;
 import org.openrewrite.Preconditions;
 import org.openrewrite.Recipe;
 import org.openrewrite.TreeVisitor;
-import org.openrewrite.java.JavaIsoVisitor;
 import org.openrewrite.java.JavaParser;
 import org.openrewrite.java.JavaTemplate;
 import org.openrewrite.java.MethodMatcher;
 import org.openrewrite.java.search.UsesType;
+import org.openrewrite.java.testing.internal.ImportLedger;
+import org.openrewrite.java.testing.internal.ImportLedgerVisitor;
 import org.openrewrite.java.tree.Expression;
 import org.openrewrite.java.tree.J;
 import org.openrewrite.java.tree.JavaType;
@@ -48,7 +49,7 @@ public class JUnitAssertEqualsToAssertThat extends Recipe {
         return Preconditions.check(new UsesType<>("org.junit.jupiter.api.Assertions", false), new AssertEqualsToAssertThatVisitor());
     }
 
-    public static class AssertEqualsToAssertThatVisitor extends JavaIsoVisitor<ExecutionContext> {
+    public static class AssertEqualsToAssertThatVisitor extends ImportLedgerVisitor<ExecutionContext> {
         private JavaParser.Builder<?, ?> assertionsParser;
 
         private JavaParser.Builder<?, ?> assertionsParser(ExecutionContext ctx) {
@@ -61,6 +62,7 @@ public class JUnitAssertEqualsToAssertThat extends Recipe {
 
         private static final MethodMatcher JUNIT_ASSERT_EQUALS = new MethodMatcher("org.junit.jupiter.api.Assertions" + " assertEquals(..)");
 
+
         @Override
         public J.MethodInvocation visitMethodInvocation(J.MethodInvocation method, ExecutionContext ctx) {
             if (!JUNIT_ASSERT_EQUALS.matches(method)) {
@@ -72,10 +74,10 @@ public class JUnitAssertEqualsToAssertThat extends Recipe {
             Expression actual = args.get(1);
 
             //always add the import (even if not referenced)
-            maybeAddImport("org.assertj.core.api.Assertions", "assertThat", false);
+            ImportLedger.of(this).addImport("org.assertj.core.api.Assertions", "assertThat", false);
 
             // Remove import for "org.junit.jupiter.api.Assertions" if no longer used.
-            maybeRemoveImport("org.junit.jupiter.api.Assertions");
+            ImportLedger.of(this).removeImport("org.junit.jupiter.api.Assertions");
 
             if (args.size() == 2) {
                 return JavaTemplate.builder("assertThat(#{any()}).isEqualTo(#{any()});")
@@ -102,7 +104,7 @@ public class JUnitAssertEqualsToAssertThat extends Recipe {
                         );
             } else if (args.size() == 3) {
                 //always add the import (even if not referenced)
-                maybeAddImport("org.assertj.core.api.Assertions", "within", false);
+                ImportLedger.of(this).addImport("org.assertj.core.api.Assertions", "within", false);
                 return JavaTemplate.builder("assertThat(#{any()}).isCloseTo(#{any()}, within(#{any()}));")
                         .staticImports("org.assertj.core.api.Assertions.assertThat", "org.assertj.core.api.Assertions.within")
                         .javaParser(assertionsParser(ctx))
@@ -115,7 +117,7 @@ public class JUnitAssertEqualsToAssertThat extends Recipe {
             Expression message = args.get(3);
 
             //always add the import (even if not referenced)
-            maybeAddImport("org.assertj.core.api.Assertions", "within", false);
+            ImportLedger.of(this).addImport("org.assertj.core.api.Assertions", "within", false);
             JavaTemplate.Builder template = TypeUtils.isString(message.getType()) ?
                     JavaTemplate.builder("assertThat(#{any()}).as(#{any(String)}).isCloseTo(#{any()}, within(#{any()}));") :
                     JavaTemplate.builder("assertThat(#{any()}).as(#{any(java.util.function.Supplier)}).isCloseTo(#{any()}, within(#{any()}));");
@@ -19,11 +19,12 @@ import org.openrewrite.ExecutionContext;
 import org.openrewrite.Preconditions;
 import org.openrewrite.Recipe;
 import org.openrewrite.TreeVisitor;
-import org.openrewrite.java.JavaIsoVisitor;
 import org.openrewrite.java.JavaParser;
 import org.openrewrite.java.JavaTemplate;
 import org.openrewrite.java.MethodMatcher;
 import org.openrewrite.java.search.UsesType;
+import org.openrewrite.java.testing.internal.ImportLedger;
+import org.openrewrite.java.testing.internal.ImportLedgerVisitor;
 import org.openrewrite.java.tree.Expression;
 import org.openrewrite.java.tree.J;
 import org.openrewrite.java.tree.TypeUtils;
@@ -47,7 +48,7 @@ public class JUnitAssertFalseToAssertThat extends Recipe {
         return Preconditions.check(new UsesType<>("org.junit.jupiter.api.Assertions", false), new AssertFalseToAssertThatVisitor());
     }
 
-    public static class AssertFalseToAssertThatVisitor extends JavaIsoVisitor<ExecutionContext> {
+    public static class AssertFalseToAssertThatVisitor extends ImportLedgerVisitor<ExecutionContext> {
         private JavaParser.Builder<?, ?> assertionsParser;
 
         private JavaParser.Builder<?, ?> assertionsParser(ExecutionContext ctx) {
@@ -60,6 +61,7 @@ public class JUnitAssertFalseToAssertThat extends Recipe {
 
         private static final MethodMatcher JUNIT_ASSERT_FALSE = new MethodMatcher("org.junit.jupiter.api.Assertions" + " assertFalse(boolean, ..)");
 
+
         @Override
         public J.MethodInvocation visitMethodInvocation(J.MethodInvocation method, ExecutionContext ctx) {
             if (!JUNIT_ASSERT_FALSE.matches(method)) {
@@ -98,10 +100,10 @@ public class JUnitAssertFalseToAssertThat extends Recipe {
             }
 
             //Make sure there is a static import for "org.assertj.core.api.Assertions.assertThat" (even if not referenced)
-            maybeAddImport("org.assertj.core.api.Assertions", "assertThat", false);
+            ImportLedger.of(this).addImport("org.assertj.core.api.Assertions", "assertThat", false);
 
             // Remove import for "org.junit.jupiter.api.Assertions" if no longer used.
-            maybeRemoveImport("org.junit.jupiter.api.Assertions");
+            ImportLedger.of(this).removeImport("org.junit.jupiter.api.Assertions");
 
             return method;
         }
@@ -19,11 +19,12 @@ import org.openrewrite.ExecutionContext;
 import org.openrewrite.Preconditions;
 import org.openrewrite.Recipe;
 import org.openrewrite.TreeVisitor;
-import org.openrewrite.java.JavaIsoVisitor;
 import org.openrewrite.java.JavaParser;
 import org.openrewrite.java.JavaTemplate;
 import org.openrewrite.java.MethodMatcher;
 import org.openrewrite.java.search.UsesType;
+import org.openrewrite.java.testing.internal.ImportLedger;
+import org.openrewrite.java.testing.internal.ImportLedgerVisitor;
 import org.openrewrite.java.tree.Expression;
 import org.openrewrite.java.tree.J;
 import org.openrewrite.java.tree.JavaType;
@@ -48,7 +49,7 @@ public class JUnitAssertNotEqualsToAssertThat extends Recipe {
         return Preconditions.check(new UsesType<>("org.junit.jupiter.api.Assertions", false), new AssertNotEqualsToAssertThatVisitor());
     }
 
-    public static class AssertNotEqualsToAssertThatVisitor extends JavaIsoVisitor<ExecutionContext> {
+    public static class AssertNotEqualsToAssertThatVisitor extends ImportLedgerVisitor<ExecutionContext> {
         private JavaParser.Builder<?, ?> assertionsParser;
 
         private JavaParser.Builder<?, ?> assertionsParser(ExecutionContext ctx) {
@@ -61,6 +62,7 @@ public class JUnitAssertNotEqualsToAssertThat extends Recipe {
 
         private static final MethodMatcher JUNIT_ASSERT_EQUALS = new MethodMatcher("org.junit.jupiter.api.Assertions" + " assertNotEquals(..)");
 
+
         @Override
         public J.MethodInvocation visitMethodInvocation(J.MethodInvocation method, ExecutionContext ctx) {
             if (!JUNIT_ASSERT_EQUALS.matches(method)) {
@@ -114,7 +116,7 @@ public class JUnitAssertNotEqualsToAssertThat extends Recipe {
                                 expected,
                                 args.get(2)
                         );
-                maybeAddImport("org.assertj.core.api.Assertions", "within", false);
+                ImportLedger.of(this).addImport("org.assertj.core.api.Assertions", "within", false);
             } else {
                 Expression message = args.get(3);
 
@@ -135,14 +137,14 @@ public class JUnitAssertNotEqualsToAssertThat extends Recipe {
                                 args.get(2)
                         );
 
-                maybeAddImport("org.assertj.core.api.Assertions", "within", false);
+                ImportLedger.of(this).addImport("org.assertj.core.api.Assertions", "within", false);
             }
 
             //Make sure there is a static import for "org.assertj.core.api.Assertions.assertThat" (even if not referenced)
-            maybeAddImport("org.assertj.core.api.Assertions", "assertThat", false);
+            ImportLedger.of(this).addImport("org.assertj.core.api.Assertions", "assertThat", false);
 
             // Remove import for "org.junit.jupiter.api.Assertions" if no longer used.
-            maybeRemoveImport("org.junit.jupiter.api.Assertions");
+            ImportLedger.of(this).removeImport("org.junit.jupiter.api.Assertions");
 
             return method;
         }
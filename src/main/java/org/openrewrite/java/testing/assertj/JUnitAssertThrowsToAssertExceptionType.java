@@ -19,11 +19,12 @@ import org.openrewrite.ExecutionContext;
 import org.openrewrite.Preconditions;
 import org.openrewrite.Recipe;
 import org.openrewrite.TreeVisitor;
-import org.openrewrite.java.JavaIsoVisitor;
 import org.openrewrite.java.JavaParser;
 import org.openrewrite.java.JavaTemplate;
 import org.openrewrite.java.MethodMatcher;
 import org.openrewrite.java.search.UsesMethod;
+import org.openrewrite.java.testing.internal.ImportLedger;
+import org.openrewrite.java.testing.internal.ImportLedgerVisitor;
 import org.openrewrite.java.tree.J;
 import org.openrewrite.java.tree.JavaType;
 import org.openrewrite.staticanalysis.LambdaBlockToExpression;
@@ -45,10 +46,11 @@ public class JUnitAssertThrowsToAssertExceptionType extends Recipe {
         return Preconditions.check(new UsesMethod<>("org.junit.jupiter.api.Assertions assertThrows(..)"), new AssertExceptionTypeVisitor());
     }
 
-    private static class AssertExceptionTypeVisitor extends JavaIsoVisitor<ExecutionContext> {
+    static class AssertExceptionTypeVisitor extends ImportLedgerVisitor<ExecutionContext> {
         private static final MethodMatcher ASSERT_THROWS_MATCHER = new MethodMatcher("org.junit.jupiter.api.Assertions assertThrows(..)");
         private static final JavaType THROWING_CALLABLE_TYPE = JavaType.buildType("org.assertj.core.api.ThrowableAssert.ThrowingCallable");
 
+
         @Override
         public J.MethodInvocation visitMethodInvocation(J.MethodInvocation method, ExecutionContext ctx) {
             J.MethodInvocation mi = super.visitMethodInvocation(method, ctx);
@@ -75,9 +77,10 @@ public class JUnitAssertThrowsToAssertExceptionType extends Recipe {
                                     mi.getCoordinates().replace(),
                                     mi.getArguments().get(0), executable
                             );
-                    maybeAddImport("org.assertj.core.api.AssertionsForClassTypes", "assertThatExceptionOfType", false);
-                    maybeRemoveImport("org.junit.jupiter.api.Assertions.assertThrows");
-                    maybeRemoveImport("org.junit.jupiter.api.Assertions");
+                    ImportLedger.of(this)
+                            .addImport("org.assertj.core.api.AssertionsForClassTypes", "assertThatExceptionOfType", false)
+                            .removeImport("org.junit.jupiter.api.Assertions.assertThrows")
+                            .removeImport("org.junit.jupiter.api.Assertions");
 
                     doAfterVisit(new LambdaBlockToExpression().getVisitor());
                 }
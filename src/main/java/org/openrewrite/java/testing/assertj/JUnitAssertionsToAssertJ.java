@@ -0,0 +1,119 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.testing.assertj;
+
+import org.jspecify.annotations.Nullable;
+import org.openrewrite.*;
+import org.openrewrite.java.AddImport;
+import org.openrewrite.java.RemoveImport;
+import org.openrewrite.java.search.UsesType;
+import org.openrewrite.java.testing.internal.ImportLedger;
+import org.openrewrite.java.testing.internal.ImportLedgerVisitor;
+import org.openrewrite.java.tree.J;
+import org.openrewrite.java.tree.JavaSourceFile;
+import org.openrewrite.java.tree.JavaType;
+import org.openrewrite.java.tree.TypeUtils;
+
+import java.util.*;
+
+public class JUnitAssertionsToAssertJ extends Recipe {
+    private static final String JUNIT_ASSERTIONS = "org.junit.jupiter.api.Assertions";
+
+    @Override
+    public String getDisplayName() {
+        return "JUnit assertions to AssertJ";
+    }
+
+    @Override
+    public String getDescription() {
+        return "Convert JUnit-style `assertEquals()`, `assertTrue()`, `assertThrows()`, `fail()` and the like to their " +
+               "AssertJ equivalents in a single pass over each source file.";
+    }
+
+    @Override
+    public TreeVisitor<?, ExecutionContext> getVisitor() {
+        return Preconditions.check(new UsesType<>(JUNIT_ASSERTIONS, false), new JUnitAssertionsVisitor());
+    }
+
+    /**
+     * Dispatches each invocation of a method on {@code org.junit.jupiter.api.Assertions} by name to the visitor of the
+     * recipe converting it, which in turn handles the different arities. Those visitors record import changes in the
+     * {@link ImportLedger} of the file, which is flushed here, and other follow-up visits they request are collected
+     * here, so that each is applied once per file.
+     */
+    private static class JUnitAssertionsVisitor extends ImportLedgerVisitor<ExecutionContext> {
+        private final Map<String, ImportLedgerVisitor<ExecutionContext>> converters = new HashMap<>();
+        private final Set<Map.Entry<Class<?>, Class<?>>> followUps = new HashSet<>();
+
+        JUnitAssertionsVisitor() {
+            converters.put("assertArrayEquals", new JUnitAssertArrayEqualsToAssertThat.AssertArrayEqualsToAssertThatVisitor());
+            converters.put("assertEquals", new JUnitAssertEqualsToAssertThat.AssertEqualsToAssertThatVisitor());
+            converters.put("assertFalse", new JUnitAssertFalseToAssertThat.AssertFalseToAssertThatVisitor());
+            converters.put("assertNotEquals", new JUnitAssertNotEqualsToAssertThat.AssertNotEqualsToAssertThatVisitor());
+            converters.put("assertNotNull", new JUnitAssertNotNullToAssertThat.AssertNotNullToAssertThatVisitor());
+            converters.put("assertNull", new JUnitAssertNullToAssertThat.AssertNullToAssertThatVisitor());
+            converters.put("assertSame", new JUnitAssertSameToAssertThat.AssertSameToAssertThatVisitor());
+            converters.put("assertTrue", new JUnitAssertTrueToAssertThat.AssertTrueToAssertThatVisitor());
+            converters.put("fail", new JUnitFailToAssertJFail.JUnitFailToAssertJFailVisitor());
+            converters.put("assertThrows", new JUnitAssertThrowsToAssertExceptionType.AssertExceptionTypeVisitor());
+            for (ImportLedgerVisitor<ExecutionContext> converter : converters.values()) {
+                converter.delegatedFrom(this);
+            }
+        }
+
+        /**
+         * Imports are deduplicated by equality, and any other follow-up visit, like removing unused imports, is only
+         * scheduled once per file for each converter requesting it.
+         */
+        @Override
+        protected void followUp(ImportLedgerVisitor<ExecutionContext> converter, TreeVisitor<?, ExecutionContext> visitor) {
+            if (visitor instanceof AddImport || visitor instanceof RemoveImport) {
+                if (!getAfterVisit().contains(visitor)) {
+                    doAfterVisit(visitor);
+                }
+            } else if (followUps.add(new AbstractMap.SimpleImmutableEntry<>(converter.getClass(), visitor.getClass()))) {
+                doAfterVisit(visitor);
+            }
+        }
+
+        @Override
+        public J preVisit(J tree, ExecutionContext ctx) {
+            if (tree instanceof JavaSourceFile) {
+                followUps.clear();
+            }
+            return super.preVisit(tree, ctx);
+        }
+
+        @Override
+        public J.MethodInvocation visitMethodInvocation(J.MethodInvocation method, ExecutionContext ctx) {
+            J.MethodInvocation mi = super.visitMethodInvocation(method, ctx);
+            ImportLedgerVisitor<ExecutionContext> converter = converterFor(mi);
+            if (converter == null) {
+                return mi;
+            }
+            converter.setCursor(getCursor());
+            return converter.visitMethodInvocation(mi, ctx);
+        }
+
+        private @Nullable ImportLedgerVisitor<ExecutionContext> converterFor(J.MethodInvocation mi) {
+            JavaType.Method methodType = mi.getMethodType();
+            if (methodType == null || !TypeUtils.isOfClassType(methodType.getDeclaringType(), JUNIT_ASSERTIONS)) {
+                return null;
+            }
+            return converters.get(methodType.getName());
+        }
+    }
+}
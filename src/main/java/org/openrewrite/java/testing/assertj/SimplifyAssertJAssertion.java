@@ -20,12 +20,15 @@ import lombok.NoArgsConstructor;
 import org.jspecify.annotations.Nullable;
 import org.openrewrite.ExecutionContext;
 import org.openrewrite.Option;
+import org.openrewrite.Preconditions;
 import org.openrewrite.Recipe;
 import org.openrewrite.TreeVisitor;
 import org.openrewrite.java.JavaIsoVisitor;
 import org.openrewrite.java.JavaParser;
 import org.openrewrite.java.JavaTemplate;
 import org.openrewrite.java.MethodMatcher;
+import org.openrewrite.java.testing.internal.TestFrameworks;
+import org.openrewrite.java.testing.internal.TestFrameworks.Framework;
 import org.openrewrite.java.tree.J;
 import org.openrewrite.java.tree.TypeUtils;
 
@@ -67,7 +70,7 @@ public class SimplifyAssertJAssertion extends Recipe {
 
     @Override
     public TreeVisitor<?, ExecutionContext> getVisitor() {
-        return new ShorthenChainedAssertJAssertionsVisitor();
+        return Preconditions.check(TestFrameworks.using(Framework.ASSERTJ), new ShorthenChainedAssertJAssertionsVisitor());
     }
 
     private class ShorthenChainedAssertJAssertionsVisitor extends JavaIsoVisitor<ExecutionContext> {
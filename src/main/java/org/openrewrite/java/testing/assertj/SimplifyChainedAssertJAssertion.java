@@ -20,12 +20,16 @@ import lombok.NoArgsConstructor;
 import org.jspecify.annotations.Nullable;
 import org.openrewrite.ExecutionContext;
 import org.openrewrite.Option;
+import org.openrewrite.Preconditions;
 import org.openrewrite.Recipe;
 import org.openrewrite.TreeVisitor;
 import org.openrewrite.java.JavaIsoVisitor;
 import org.openrewrite.java.JavaParser;
 import org.openrewrite.java.JavaTemplate;
 import org.openrewrite.java.MethodMatcher;
+import org.openrewrite.java.testing.internal.TemplatePlaceholders;
+import org.openrewrite.java.testing.internal.TestFrameworks;
+import org.openrewrite.java.testing.internal.TestFrameworks.Framework;
 import org.openrewrite.java.tree.Expression;
 import org.openrewrite.java.tree.J;
 import org.openrewrite.java.tree.TypeUtils;
@@ -84,7 +88,7 @@ public class SimplifyChainedAssertJAssertion extends Recipe {
 
     @Override
     public TreeVisitor<?, ExecutionContext> getVisitor() {
-        return new SimplifyChainedAssertJAssertionsVisitor();
+        return Preconditions.check(TestFrameworks.using(Framework.ASSERTJ), new SimplifyChainedAssertJAssertionsVisitor());
     }
 
     private class SimplifyChainedAssertJAssertionsVisitor extends JavaIsoVisitor<ExecutionContext> {
@@ -126,7 +130,8 @@ public class SimplifyChainedAssertJAssertion extends Recipe {
 
         private J.MethodInvocation applyTemplate(String formattedTemplate, List<Expression> arguments, J.MethodInvocation mi, ExecutionContext ctx) {
             return JavaTemplate.builder(formattedTemplate)
-                    .contextSensitive()
+                    .imports("java.nio.file.Path")
+                    .staticImports("org.assertj.core.api.Assertions.assertThat")
                     .javaParser(JavaParser.fromJavaVersion().classpathFromResources(ctx, "junit-jupiter-api-5.9", "assertj-core-3.24"))
                     .build()
                     .apply(getCursor(), mi.getCoordinates().replace(), arguments.toArray());
@@ -137,10 +142,11 @@ public class SimplifyChainedAssertJAssertion extends Recipe {
             Expression methodToReplaceArgument = methodToReplace.getArguments().get(0);
             boolean assertThatArgumentIsEmpty = assertThatArgument instanceof J.Empty;
             boolean methodToReplaceArgumentIsEmpty = methodToReplaceArgument instanceof J.Empty;
+            String assertThat = "assertThat(" + actualPlaceholder(arguments.get(0)) + ")";
 
             // If both arguments are empty, then the select is already added to the arguments list, and we use a minimal template
             if (assertThatArgumentIsEmpty && methodToReplaceArgumentIsEmpty) {
-                return "assertThat(#{any()}).%s()";
+                return assertThat + ".%s()";
             }
 
             // If both arguments are not empty, then we add both to the arguments to the arguments list, and return a template with two arguments
@@ -148,20 +154,34 @@ public class SimplifyChainedAssertJAssertion extends Recipe {
                 // This should only happen for map assertions using a key and value
                 arguments.add(assertThatArgument);
                 arguments.add(methodToReplaceArgument);
-                return "assertThat(#{any()}).%s(#{any()}, #{any()})";
+                return assertThat + ".%s(" + placeholder(assertThatArgument) + ", " + placeholder(methodToReplaceArgument) + ")";
             }
 
             // If either argument is empty, we choose which one to add to the arguments list, and optionally extract the select
-            arguments.add(extractEitherArgument(assertThatArgumentIsEmpty, assertThatArgument, methodToReplaceArgument));
+            Expression argument = extractEitherArgument(assertThatArgumentIsEmpty, assertThatArgument, methodToReplaceArgument);
+            arguments.add(argument);
 
             // Special case for Path.of() assertions
             if ("java.nio.file.Path".equals(requiredType) && dedicatedAssertion.contains("Raw") &&
                 TypeUtils.isAssignableTo("java.lang.String", assertThatArgument.getType())) {
                 maybeAddImport("java.nio.file.Path");
-                return "assertThat(#{any()}).%s(Path.of(#{any()}))";
+                return assertThat + ".%s(Path.of(#{any(java.lang.String)}))";
             }
 
-            return "assertThat(#{any()}).%s(#{any()})";
+            return assertThat + ".%s(" + placeholder(argument) + ")";
+        }
+
+        /**
+         * The actual is typed by its own type when that is a JDK type, and by the required type otherwise, so that the
+         * template resolves the same `assertThat` overload without the context of the surrounding source.
+         */
+        private String actualPlaceholder(Expression actual) {
+            String type = TemplatePlaceholders.jdkErasureOrObject(actual.getType());
+            return TemplatePlaceholders.any("java.lang.Object".equals(type) && requiredType != null ? requiredType : type);
+        }
+
+        private String placeholder(Expression argument) {
+            return TemplatePlaceholders.any(TemplatePlaceholders.jdkErasureOrObject(argument.getType()));
         }
     }
 
@@ -16,12 +16,15 @@
 package org.openrewrite.java.testing.cleanup;
 
 import org.openrewrite.ExecutionContext;
+import org.openrewrite.Preconditions;
 import org.openrewrite.Recipe;
 import org.openrewrite.TreeVisitor;
 import org.openrewrite.java.JavaParser;
 import org.openrewrite.java.JavaTemplate;
 import org.openrewrite.java.JavaVisitor;
 import org.openrewrite.java.MethodMatcher;
+import org.openrewrite.java.testing.internal.TestFrameworks;
+import org.openrewrite.java.testing.internal.TestFrameworks.Framework;
 import org.openrewrite.java.tree.Expression;
 import org.openrewrite.java.tree.J;
 import org.openrewrite.java.tree.JavaType;
@@ -42,7 +45,7 @@ public class AssertNotEqualsBooleanToAssertBoolean extends Recipe {
 
     @Override
     public TreeVisitor<?, ExecutionContext> getVisitor() {
-        return new JavaVisitor<ExecutionContext>() {
+        return Preconditions.check(TestFrameworks.using(Framework.JUNIT5), new JavaVisitor<ExecutionContext>() {
 
             JavaParser.Builder<?, ?> javaParser = null;
 
@@ -102,6 +105,6 @@ public class AssertNotEqualsBooleanToAssertBoolean extends Recipe {
 
                 return false;
             }
-        };
+        });
     }
 }
@@ -23,8 +23,8 @@ import org.openrewrite.internal.NameCaseConvention;
 import org.openrewrite.java.AnnotationMatcher;
 import org.openrewrite.java.JavaIsoVisitor;
 import org.openrewrite.java.search.UsesType;
+import org.openrewrite.java.testing.internal.JUnit5Annotations;
 import org.openrewrite.java.tree.J;
-import org.openrewrite.java.tree.J.MethodDeclaration;
 import org.openrewrite.java.tree.JavaType;
 import org.openrewrite.java.tree.TypeUtils;
 
@@ -88,7 +88,7 @@ public class RemoveTestPrefix extends Recipe {
                     !simpleName.startsWith("test") ||
                     !(simpleName.charAt(4) == '_' || Character.isUpperCase(simpleName.charAt(4))) ||
                     TypeUtils.isOverride(method.getMethodType()) ||
-                    !hasJUnit5MethodAnnotation(method)) {
+                    !JUnit5Annotations.of(method).hasAny(JUnit5Annotations.TESTS)) {
                 return m;
             }
 
@@ -146,19 +146,6 @@ public class RemoveTestPrefix extends Recipe {
         private boolean methodExists(JavaType.Method method, String newName) {
             return TypeUtils.findDeclaredMethod(method.getDeclaringType(), newName, method.getParameterTypes()).orElse(null) != null;
         }
-
-        private static boolean hasJUnit5MethodAnnotation(MethodDeclaration method) {
-            for (J.Annotation a : method.getLeadingAnnotations()) {
-                if (TypeUtils.isOfClassType(a.getType(), "org.junit.jupiter.api.Test") ||
-                        TypeUtils.isOfClassType(a.getType(), "org.junit.jupiter.api.TestTemplate") ||
-                        TypeUtils.isOfClassType(a.getType(), "org.junit.jupiter.api.RepeatedTest") ||
-                        TypeUtils.isOfClassType(a.getType(), "org.junit.jupiter.params.ParameterizedTest") ||
-                        TypeUtils.isOfClassType(a.getType(), "org.junit.jupiter.api.TestFactory")) {
-                    return true;
-                }
-            }
-            return false;
-        }
     }
 
 }
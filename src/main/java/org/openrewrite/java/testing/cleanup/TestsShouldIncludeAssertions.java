@@ -24,9 +24,10 @@ import org.openrewrite.java.JavaParser;
 import org.openrewrite.java.JavaTemplate;
 import org.openrewrite.java.MethodMatcher;
 import org.openrewrite.java.search.UsesType;
+import org.openrewrite.java.testing.internal.JUnit5Annotations;
+import org.openrewrite.java.testing.internal.JUnit5Annotations.Role;
 import org.openrewrite.java.tree.J;
 import org.openrewrite.java.tree.JavaType;
-import org.openrewrite.java.tree.TypeUtils;
 
 import java.util.*;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -35,8 +36,6 @@ import java.util.concurrent.atomic.AtomicBoolean;
 @Value
 @EqualsAndHashCode(callSuper = false)
 public class TestsShouldIncludeAssertions extends Recipe {
-    private static final List<String> TEST_ANNOTATIONS = Collections.singletonList("org.junit.jupiter.api.Test");
-
     private static final List<String> DEFAULT_ASSERTIONS = Arrays.asList(
             "com.github.tomakehurst.wiremock.client.WireMock",
             "io.restassured",
@@ -135,23 +134,11 @@ public class TestsShouldIncludeAssertions extends Recipe {
         }
 
         private boolean methodIsTest(J.MethodDeclaration methodDeclaration) {
-            for (J.Annotation leadingAnnotation : methodDeclaration.getLeadingAnnotations()) {
-                for (String testAnnotation : TEST_ANNOTATIONS) {
-                    if (TypeUtils.isOfClassType(leadingAnnotation.getType(), testAnnotation)) {
-                        return true;
-                    }
-                }
-            }
-            return false;
+            return JUnit5Annotations.of(methodDeclaration).has(Role.TEST);
         }
 
         private boolean methodIsDisabled(J.MethodDeclaration methodDeclaration) {
-            for (J.Annotation leadingAnnotation : methodDeclaration.getLeadingAnnotations()) {
-                if (TypeUtils.isOfClassType(leadingAnnotation.getType(), "org.junit.jupiter.api.Disabled")) {
-                    return true;
-                }
-            }
-            return false;
+            return JUnit5Annotations.of(methodDeclaration).has(Role.DISABLED);
         }
 
         private boolean methodHasAssertion(J.Block body) {
@@ -21,17 +21,26 @@ import lombok.RequiredArgsConstructor;
 import org.jspecify.annotations.Nullable;
 import org.openrewrite.ExecutionContext;
 import org.openrewrite.Option;
+import org.openrewrite.Preconditions;
 import org.openrewrite.ScanningRecipe;
+import org.openrewrite.Tree;
 import org.openrewrite.TreeVisitor;
 import org.openrewrite.internal.ListUtils;
 import org.openrewrite.java.ChangeMethodAccessLevelVisitor;
 import org.openrewrite.java.JavaIsoVisitor;
 import org.openrewrite.java.MethodMatcher;
+import org.openrewrite.java.testing.internal.JUnit5Annotations;
+import org.openrewrite.java.testing.internal.JUnit5Annotations.Role;
+import org.openrewrite.java.testing.internal.ScanFacts;
+import org.openrewrite.java.testing.internal.TestFrameworks;
+import org.openrewrite.java.testing.internal.TestFrameworks.Framework;
 import org.openrewrite.java.tree.Comment;
 import org.openrewrite.java.tree.Flag;
 import org.openrewrite.java.tree.J;
+import org.openrewrite.java.tree.JavaSourceFile;
 import org.openrewrite.java.tree.TypeUtils;
 
+import java.io.Serializable;
 import java.util.*;
 
 @AllArgsConstructor
@@ -67,29 +76,47 @@ public class TestsShouldNotBePublic extends ScanningRecipe<TestsShouldNotBePubli
 
     @Override
     public TreeVisitor<?, ExecutionContext> getScanner(Accumulator acc) {
-        return new JavaIsoVisitor<ExecutionContext>() {
+        return new TreeVisitor<Tree, ExecutionContext>() {
             @Override
-            public J.ClassDeclaration visitClassDeclaration(J.ClassDeclaration classDeclaration, ExecutionContext ctx) {
-                J.ClassDeclaration cd = super.visitClassDeclaration(classDeclaration, ctx);
-                if (cd.getExtends() != null) {
-                    acc.extendedClasses.add(String.valueOf(cd.getExtends().getType()));
+            public Tree preVisit(Tree tree, ExecutionContext ctx) {
+                stopAfterPreVisit();
+                if (tree instanceof JavaSourceFile) {
+                    acc.extendedClasses.addAll(ScanFacts.of((JavaSourceFile) tree, ctx).getExtendedClasses());
                 }
-                return cd;
+                return tree;
             }
         };
     }
 
     @Override
     public TreeVisitor<?, ExecutionContext> getVisitor(Accumulator acc) {
-        return new TestsNotPublicVisitor(Boolean.TRUE.equals(removeProtectedModifiers), acc);
+        return Preconditions.check(TestFrameworks.using(Framework.JUNIT5),
+                new TestsNotPublicVisitor(Boolean.TRUE.equals(removeProtectedModifiers), acc));
     }
 
-    public static class Accumulator {
+    /**
+     * Serializable, and {@linkplain #merge(Accumulator) mergeable} with the scan result of other source files, so that
+     * the scan can be split up.
+     */
+    public static class Accumulator implements Serializable {
+        private static final long serialVersionUID = 1L;
+
         Set<String> extendedClasses = new HashSet<>();
+
+        public Accumulator merge(Accumulator other) {
+            Accumulator merged = new Accumulator();
+            merged.extendedClasses.addAll(extendedClasses);
+            merged.extendedClasses.addAll(other.extendedClasses);
+            return merged;
+        }
     }
 
     @RequiredArgsConstructor
     private static final class TestsNotPublicVisitor extends JavaIsoVisitor<ExecutionContext> {
+        private static final Set<Role> TEST_AND_LIFECYCLE_ROLES = EnumSet.of(Role.TEST, Role.REPEATED_TEST,
+                Role.PARAMETERIZED_TEST, Role.TEST_FACTORY, Role.BEFORE_EACH, Role.AFTER_EACH, Role.BEFORE_ALL,
+                Role.AFTER_ALL);
+
         private final Boolean orProtected;
         private final Accumulator acc;
 
@@ -167,19 +194,7 @@ public class TestsShouldNotBePublic extends ScanningRecipe<TestsShouldNotBePubli
         }
 
         private boolean hasJUnit5MethodAnnotation(J.MethodDeclaration method) {
-            for (J.Annotation a : method.getLeadingAnnotations()) {
-                if (TypeUtils.isOfClassType(a.getType(), "org.junit.jupiter.api.Test") ||
-                        TypeUtils.isOfClassType(a.getType(), "org.junit.jupiter.api.RepeatedTest") ||
-                        TypeUtils.isOfClassType(a.getType(), "org.junit.jupiter.params.ParameterizedTest") ||
-                        TypeUtils.isOfClassType(a.getType(), "org.junit.jupiter.api.TestFactory") ||
-                        TypeUtils.isOfClassType(a.getType(), "org.junit.jupiter.api.AfterEach") ||
-                        TypeUtils.isOfClassType(a.getType(), "org.junit.jupiter.api.BeforeEach") ||
-                        TypeUtils.isOfClassType(a.getType(), "org.junit.jupiter.api.AfterAll") ||
-                        TypeUtils.isOfClassType(a.getType(), "org.junit.jupiter.api.BeforeAll")) {
-                    return true;
-                }
-            }
-            return false;
+            return JUnit5Annotations.of(method).hasAny(TEST_AND_LIFECYCLE_ROLES);
         }
     }
 }
@@ -19,11 +19,13 @@ import lombok.AllArgsConstructor;
 import lombok.NoArgsConstructor;
 import org.jspecify.annotations.Nullable;
 import org.openrewrite.*;
-import org.openrewrite.java.JavaIsoVisitor;
 import org.openrewrite.java.JavaParser;
 import org.openrewrite.java.JavaTemplate;
 import org.openrewrite.java.MethodMatcher;
 import org.openrewrite.java.search.UsesMethod;
+import org.openrewrite.java.testing.internal.ImportLedger;
+import org.openrewrite.java.testing.internal.ImportLedgerVisitor;
+import org.openrewrite.java.testing.internal.TemplatePlaceholders;
 import org.openrewrite.java.tree.Expression;
 import org.openrewrite.java.tree.J;
 import org.openrewrite.java.tree.JavaType;
@@ -73,11 +75,12 @@ public class HamcrestMatcherToAssertJ extends Recipe {
         return Preconditions.check(new UsesMethod<>("org.hamcrest.*Matchers " + matcher + "(..)"), new MigrateToAssertJVisitor());
     }
 
-    private class MigrateToAssertJVisitor extends JavaIsoVisitor<ExecutionContext> {
+    private class MigrateToAssertJVisitor extends ImportLedgerVisitor<ExecutionContext> {
         private final MethodMatcher assertThatMatcher = new MethodMatcher("org.hamcrest.MatcherAssert assertThat(..)");
         private final MethodMatcher matchersMatcher = new MethodMatcher("org.hamcrest.*Matchers " + matcher + "(..)");
         private final MethodMatcher subMatcher = new MethodMatcher("org.hamcrest.*Matchers *(org.hamcrest.Matcher)");
 
+
         @Override
         public J.MethodInvocation visitMethodInvocation(J.MethodInvocation method, ExecutionContext ctx) {
             J.MethodInvocation mi = super.visitMethodInvocation(method, ctx);
@@ -111,12 +114,13 @@ public class HamcrestMatcherToAssertJ extends Recipe {
                             "org.assertj.core.api.Assertions.assertThat",
                             "org.assertj.core.api.Assertions.within")
                     .build();
-            maybeAddImport("org.assertj.core.api.Assertions", "assertThat");
-            maybeAddImport("org.assertj.core.api.Assertions", "within");
-            maybeRemoveImport("org.hamcrest.Matchers." + matcher);
-            maybeRemoveImport("org.hamcrest.CoreMatchers." + matcher);
-            maybeRemoveImport("org.hamcrest.MatcherAssert");
-            maybeRemoveImport("org.hamcrest.MatcherAssert.assertThat");
+            ImportLedger.of(this)
+                    .addImport("org.assertj.core.api.Assertions", "assertThat")
+                    .addImport("org.assertj.core.api.Assertions", "within")
+                    .removeImport("org.hamcrest.Matchers." + matcher)
+                    .removeImport("org.hamcrest.CoreMatchers." + matcher)
+                    .removeImport("org.hamcrest.MatcherAssert")
+                    .removeImport("org.hamcrest.MatcherAssert.assertThat");
 
             List<Expression> templateArguments = new ArrayList<>();
             templateArguments.add(actualArgument);
@@ -148,15 +152,9 @@ public class HamcrestMatcherToAssertJ extends Recipe {
 
         private String typeToIndicator(JavaType type) {
             if (type instanceof JavaType.Array) {
-                type = ((JavaType.Array) type).getElemType();
-                String str = type instanceof JavaType.Primitive || type.toString().startsWith("java.") ?
-                        type.toString().replaceAll("<.*>", "") : "java.lang.Object";
-                return String.format("#{anyArray(%s)}", str);
-            } else {
-                String str = type instanceof JavaType.Primitive || type.toString().startsWith("java.") ?
-                        type.toString().replaceAll("<.*>", "") : "java.lang.Object";
-                return String.format("#{any(%s)}", str);
+                return TemplatePlaceholders.anyArray(TemplatePlaceholders.jdkErasureOrObject(((JavaType.Array) type).getElemType()));
             }
+            return TemplatePlaceholders.any(TemplatePlaceholders.jdkErasureOrObject(type));
         }
     }
 }
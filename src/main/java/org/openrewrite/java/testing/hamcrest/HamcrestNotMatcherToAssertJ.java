@@ -19,11 +19,13 @@ import lombok.AllArgsConstructor;
 import lombok.NoArgsConstructor;
 import org.jspecify.annotations.Nullable;
 import org.openrewrite.*;
-import org.openrewrite.java.JavaIsoVisitor;
 import org.openrewrite.java.JavaParser;
 import org.openrewrite.java.JavaTemplate;
 import org.openrewrite.java.MethodMatcher;
 import org.openrewrite.java.search.UsesMethod;
+import org.openrewrite.java.testing.internal.ImportLedger;
+import org.openrewrite.java.testing.internal.ImportLedgerVisitor;
+import org.openrewrite.java.testing.internal.TemplatePlaceholders;
 import org.openrewrite.java.tree.Expression;
 import org.openrewrite.java.tree.J;
 import org.openrewrite.java.tree.JavaType;
@@ -65,12 +67,13 @@ public class HamcrestNotMatcherToAssertJ extends Recipe {
         return Preconditions.check(new UsesMethod<>("org.hamcrest.*Matchers " + notMatcher + "(..)"), new MigrateToAssertJVisitor());
     }
 
-    private class MigrateToAssertJVisitor extends JavaIsoVisitor<ExecutionContext> {
+    private class MigrateToAssertJVisitor extends ImportLedgerVisitor<ExecutionContext> {
         private final MethodMatcher ASSERT_THAT_MATCHER = new MethodMatcher("org.hamcrest.MatcherAssert assertThat(..)");
         private final MethodMatcher NOT_MATCHER = new MethodMatcher("org.hamcrest.*Matchers not(org.hamcrest.Matcher)");
         private final MethodMatcher MATCHERS_MATCHER = new MethodMatcher("org.hamcrest.*Matchers " + notMatcher + "(..)");
         private final MethodMatcher SUB_MATCHER = new MethodMatcher("org.hamcrest.*Matchers *(org.hamcrest.Matcher)");
 
+
         @Override
         public J.MethodInvocation visitMethodInvocation(J.MethodInvocation method, ExecutionContext ctx) {
             J.MethodInvocation mi = super.visitMethodInvocation(method, ctx);
@@ -107,13 +110,14 @@ public class HamcrestNotMatcherToAssertJ extends Recipe {
                     .javaParser(JavaParser.fromJavaVersion().classpathFromResources(ctx, "assertj-core-3.24"))
                     .staticImports("org.assertj.core.api.Assertions.assertThat")
                     .build();
-            maybeAddImport("org.assertj.core.api.Assertions", "assertThat");
-            maybeRemoveImport("org.hamcrest.Matchers.not");
-            maybeRemoveImport("org.hamcrest.Matchers." + notMatcher);
-            maybeRemoveImport("org.hamcrest.CoreMatchers.not");
-            maybeRemoveImport("org.hamcrest.CoreMatchers." + notMatcher);
-            maybeRemoveImport("org.hamcrest.MatcherAssert");
-            maybeRemoveImport("org.hamcrest.MatcherAssert.assertThat");
+            ImportLedger.of(this)
+                    .addImport("org.assertj.core.api.Assertions", "assertThat")
+                    .removeImport("org.hamcrest.Matchers.not")
+                    .removeImport("org.hamcrest.Matchers." + notMatcher)
+                    .removeImport("org.hamcrest.CoreMatchers.not")
+                    .removeImport("org.hamcrest.CoreMatchers." + notMatcher)
+                    .removeImport("org.hamcrest.MatcherAssert")
+                    .removeImport("org.hamcrest.MatcherAssert.assertThat");
 
             List<Expression> templateArguments = new ArrayList<>();
             templateArguments.add(actualArgument);
@@ -139,11 +143,12 @@ public class HamcrestNotMatcherToAssertJ extends Recipe {
                     .javaParser(JavaParser.fromJavaVersion().classpathFromResources(ctx, "assertj-core-3.24"))
                     .staticImports("org.assertj.core.api.Assertions.assertThat")
                     .build();
-            maybeAddImport("org.assertj.core.api.Assertions", "assertThat");
-            maybeRemoveImport("org.hamcrest.Matchers.not");
-            maybeRemoveImport("org.hamcrest.Matchers." + notMatcher);
-            maybeRemoveImport("org.hamcrest.MatcherAssert");
-            maybeRemoveImport("org.hamcrest.MatcherAssert.assertThat");
+            ImportLedger.of(this)
+                    .addImport("org.assertj.core.api.Assertions", "assertThat")
+                    .removeImport("org.hamcrest.Matchers.not")
+                    .removeImport("org.hamcrest.Matchers." + notMatcher)
+                    .removeImport("org.hamcrest.MatcherAssert")
+                    .removeImport("org.hamcrest.MatcherAssert.assertThat");
 
             List<Expression> templateArguments = new ArrayList<>();
             templateArguments.add(actualArgument);
@@ -153,9 +158,7 @@ public class HamcrestNotMatcherToAssertJ extends Recipe {
         }
 
         private String typeToIndicator(JavaType type) {
-            String str = type instanceof JavaType.Primitive || type.toString().startsWith("java.") ?
-                    type.toString().replaceAll("<.*>", "") : "java.lang.Object";
-            return String.format("#{any(%s)}", str);
+            return TemplatePlaceholders.any(TemplatePlaceholders.jdkErasureOrObject(type));
         }
     }
 }
@@ -24,6 +24,7 @@ import org.openrewrite.java.JavaParser;
 import org.openrewrite.java.JavaTemplate;
 import org.openrewrite.java.MethodMatcher;
 import org.openrewrite.java.search.UsesMethod;
+import org.openrewrite.java.testing.internal.TemplatePlaceholders;
 import org.openrewrite.java.tree.Expression;
 import org.openrewrite.java.tree.J;
 import org.openrewrite.java.tree.TypeUtils;
@@ -76,8 +77,11 @@ public class HamcrestOfMatchersToAssertJ extends Recipe {
             List<Expression> parameters = new ArrayList<>();
 
             // assertThat(actual)
-            template.append("assertThat(#{any()})\n");
-            parameters.add(arguments.get(arguments.size() - 2));
+            Expression actual = arguments.get(arguments.size() - 2);
+            template.append("assertThat(")
+                    .append(TemplatePlaceholders.any(TemplatePlaceholders.jdkErasureOrObject(actual.getType())))
+                    .append(")\n");
+            parameters.add(actual);
 
             // .as("...")
             if (arguments.size() == 3) {
@@ -88,7 +92,7 @@ public class HamcrestOfMatchersToAssertJ extends Recipe {
             // .satisfiesAnyOf(...) or .satisfies(...)
             template.append(allOfMatcherMatches ? ".satisfies(\n" : ".satisfiesAnyOf(\n");
             template.append(anyOfArguments.stream()
-                    .map(arg -> "arg -> assertThat(arg, #{any()})")
+                    .map(arg -> "arg -> assertThat(arg, #{any(org.hamcrest.Matcher)})")
                     .collect(Collectors.joining(",\n")));
             parameters.addAll(anyOfArguments);
             template.append("\n);");
@@ -99,8 +103,7 @@ public class HamcrestOfMatchersToAssertJ extends Recipe {
             maybeRemoveImport("org.hamcrest.CoreMatchers.allOf");
             maybeAddImport("org.assertj.core.api.Assertions", "assertThat");
             return JavaTemplate.builder(template.toString())
-                    .contextSensitive()
-                    .staticImports("org.assertj.core.api.Assertions.assertThat")
+                    .staticImports("org.assertj.core.api.Assertions.assertThat", "org.hamcrest.MatcherAssert.assertThat")
                     .javaParser(JavaParser.fromJavaVersion().classpathFromResources(ctx,
                             "assertj-core-3.24",
                             "hamcrest-2.2",
@@ -0,0 +1,385 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.testing.internal;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.cfg.ConstructorDetector;
+import com.fasterxml.jackson.databind.exc.InvalidTypeIdException;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.databind.type.TypeFactory;
+import com.fasterxml.jackson.module.paramnames.ParameterNamesModule;
+import org.jspecify.annotations.Nullable;
+import org.openrewrite.Contributor;
+import org.openrewrite.Maintainer;
+import org.openrewrite.Recipe;
+import org.openrewrite.RecipeException;
+import org.openrewrite.RecipeSerializer;
+import org.openrewrite.Validated;
+import org.openrewrite.config.*;
+import org.openrewrite.style.NamedStyles;
+
+import java.io.*;
+import java.net.URISyntaxException;
+import java.net.URI;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.*;
+import java.util.function.Consumer;
+
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Loads the declarative recipes of this module from the descriptor that {@code DeclarativeRecipeCompiler} generates at
+ * build time, so that a run which activates one of them doesn't need to parse YAML or scan the classpath:
+ * <pre>{@code
+ * Environment.builder()
+ *     .load(new CompiledDeclarativeRecipeLoader())
+ *     .build()
+ *     .activateRecipes("org.openrewrite.java.testing.junit5.JUnit4to5Migration");
+ * }</pre>
+ * The descriptor is a cache of the YAML documents, from which recipes, categories, examples and contributors are
+ * built exactly the way {@link YamlResourceLoader} builds them. This loader is a {@link YamlResourceLoader} over no
+ * YAML of its own, so that the environment attaches the examples and contributors it lists to the recipes it lists.
+ */
+public class CompiledDeclarativeRecipeLoader extends YamlResourceLoader {
+    static final String RESOURCE_DIRECTORY = "META-INF/rewrite/";
+    public static final String DESCRIPTOR = RESOURCE_DIRECTORY + "compiled/declarative-recipes.bin";
+
+    static final String RECIPE_TYPE = "specs.openrewrite.org/v1beta/recipe";
+    static final String CATEGORY_TYPE = "specs.openrewrite.org/v1beta/category";
+    static final String EXAMPLE_TYPE = "specs.openrewrite.org/v1beta/example";
+    static final String ATTRIBUTION_TYPE = "specs.openrewrite.org/v1beta/attribution";
+
+    static final int MAGIC = 0x52574452;
+    static final int VERSION = 3;
+
+    static final byte NULL = 0;
+    static final byte STRING = 1;
+    static final byte STRING_REF = 2;
+    static final byte TRUE = 3;
+    static final byte FALSE = 4;
+    static final byte INT = 5;
+    static final byte LONG = 6;
+    static final byte DOUBLE = 7;
+    static final byte LIST = 8;
+    static final byte MAP = 9;
+
+    private final ClassLoader classLoader;
+    private final List<String> sources = new ArrayList<>();
+    private final List<Map<String, Object>> documents = new ArrayList<>();
+    private final Map<String, URI> sourceUris = new HashMap<>();
+
+    @Nullable
+    private ObjectMapper mapper;
+
+    public CompiledDeclarativeRecipeLoader() {
+        this(CompiledDeclarativeRecipeLoader.class.getClassLoader());
+    }
+
+    public CompiledDeclarativeRecipeLoader(ClassLoader classLoader) {
+        this(open(classLoader), classLoader);
+    }
+
+    public CompiledDeclarativeRecipeLoader(InputStream descriptor, ClassLoader classLoader) {
+        super(new ByteArrayInputStream(new byte[0]), URI.create(DESCRIPTOR), new Properties(), classLoader);
+        this.classLoader = classLoader;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(descriptor))) {
+            if (in.readInt() != MAGIC || in.readShort() != VERSION) {
+                throw new IllegalStateException("Not a compiled declarative recipe descriptor of version " + VERSION);
+            }
+            List<String> strings = new ArrayList<>();
+            for (int i = in.readInt(); i > 0; i--) {
+                sources.add((String) read(in, strings));
+                //noinspection unchecked
+                documents.add((Map<String, Object>) read(in, strings));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static InputStream open(ClassLoader classLoader) {
+        InputStream descriptor = classLoader.getResourceAsStream(DESCRIPTOR);
+        if (descriptor == null) {
+            throw new IllegalStateException(DESCRIPTOR + " is not on the classpath, it is generated by the compileDeclarativeRecipes build task");
+        }
+        return descriptor;
+    }
+
+    private static @Nullable Object read(DataInputStream in, List<String> strings) throws IOException {
+        byte tag = in.readByte();
+        switch (tag) {
+            case NULL:
+                return null;
+            case STRING:
+                byte[] bytes = new byte[in.readInt()];
+                in.readFully(bytes);
+                String s = new String(bytes, StandardCharsets.UTF_8);
+                strings.add(s);
+                return s;
+            case STRING_REF:
+                return strings.get(in.readInt());
+            case TRUE:
+                return true;
+            case FALSE:
+                return false;
+            case INT:
+                return in.readInt();
+            case LONG:
+                return in.readLong();
+            case DOUBLE:
+                return in.readDouble();
+            case LIST:
+                int size = in.readInt();
+                List<Object> list = new ArrayList<>(size);
+                for (int i = 0; i < size; i++) {
+                    list.add(read(in, strings));
+                }
+                return list;
+            case MAP:
+                int entries = in.readInt();
+                Map<String, Object> map = new LinkedHashMap<>();
+                for (int i = 0; i < entries; i++) {
+                    map.put((String) read(in, strings), read(in, strings));
+                }
+                return map;
+            default:
+                throw new IllegalStateException("Unknown value tag " + tag + " in compiled declarative recipe descriptor");
+        }
+    }
+
+    @Override
+    public Collection<Recipe> listRecipes() {
+        List<Recipe> recipes = new ArrayList<>();
+        for (int d = 0; d < documents.size(); d++) {
+            Map<String, Object> r = documents.get(d);
+            if (!RECIPE_TYPE.equals(r.get("type")) || !r.containsKey("name")) {
+                continue;
+            }
+
+            @SuppressWarnings("unchecked") List<Object> tags = (List<Object>) r.get("tags");
+            Set<String> tagSet = new HashSet<>();
+            if (tags != null) {
+                for (Object tag : tags) {
+                    tagSet.add(String.valueOf(tag));
+                }
+            }
+            String estimatedEffortPerOccurrence = (String) r.get("estimatedEffortPerOccurrence");
+            @SuppressWarnings("unchecked") List<Map<String, String>> maintainerList =
+                    (List<Map<String, String>>) r.getOrDefault("maintainers", Collections.emptyList());
+            List<Maintainer> maintainers = new ArrayList<>(maintainerList.size());
+            for (Map<String, String> maintainer : maintainerList) {
+                String logo = maintainer.get("logo");
+                maintainers.add(new Maintainer(maintainer.get("maintainer"), logo == null ? null : URI.create(logo)));
+            }
+
+            String name = (String) r.get("name");
+            URI source = sourceUri(sources.get(d));
+            DeclarativeRecipe recipe = new DeclarativeRecipe(
+                    name,
+                    (String) r.get("displayName"),
+                    (String) r.get("description"),
+                    tagSet,
+                    estimatedEffortPerOccurrence == null ? null : Duration.parse(estimatedEffortPerOccurrence),
+                    source,
+                    (Boolean) r.getOrDefault("causesAnotherCycle", false),
+                    maintainers.isEmpty() ? Collections.emptyList() : maintainers);
+
+            @SuppressWarnings("unchecked") List<Object> recipeList = (List<Object>) r.get("recipeList");
+            if (recipeList == null) {
+                throw new RecipeException("Invalid Recipe [" + name + "] recipeList is null");
+            }
+            for (int i = 0; i < recipeList.size(); i++) {
+                loadRecipe(name, source, i, recipeList.get(i), recipe::addUninitialized, recipe::addUninitialized, recipe::addValidation);
+            }
+            @SuppressWarnings("unchecked") List<Object> preconditions = (List<Object>) r.get("preconditions");
+            if (preconditions != null) {
+                for (int i = 0; i < preconditions.size(); i++) {
+                    loadRecipe(name, source, i, preconditions.get(i), recipe::addUninitializedPrecondition,
+                            recipe::addUninitializedPrecondition, recipe::addValidation);
+                }
+            }
+            recipes.add(recipe);
+        }
+        return recipes;
+    }
+
+    private URI sourceUri(String source) {
+        return sourceUris.computeIfAbsent(source, s -> {
+            URL url = classLoader.getResource(s);
+            try {
+                return url == null ? URI.create(s) : url.toURI();
+            } catch (URISyntaxException e) {
+                return URI.create(s);
+            }
+        });
+    }
+
+    private void loadRecipe(String name, URI source, int i, @Nullable Object recipeData,
+                            Consumer<String> addLazyLoadRecipe,
+                            Consumer<Recipe> addRecipe,
+                            Consumer<Validated<Object>> addValidation) {
+        if (recipeData instanceof String) {
+            String recipeName = (String) recipeData;
+            try {
+                addRecipe.accept((Recipe) Class.forName(recipeName, true, classLoader)
+                        .getDeclaredConstructor()
+                        .newInstance());
+            } catch (ReflectiveOperationException e) {
+                try {
+                    addRecipe.accept(instantiateRecipe(recipeName, new HashMap<>()));
+                } catch (IllegalArgumentException ignored) {
+                    // not a Java recipe, so a declarative recipe that is only known once the environment is built
+                    addLazyLoadRecipe.accept(recipeName);
+                }
+            } catch (NoClassDefFoundError e) {
+                addValidation.accept(Validated.invalid(name, null, "Recipe class " + recipeName + " cannot be found"));
+            }
+        } else if (recipeData instanceof Map) {
+            Map.Entry<?, ?> nameAndConfig = ((Map<?, ?>) recipeData).entrySet().iterator().next();
+            String recipeName = (String) nameAndConfig.getKey();
+            Object recipeArgs = nameAndConfig.getValue();
+            try {
+                if (recipeArgs instanceof Map) {
+                    try {
+                        //noinspection unchecked
+                        addRecipe.accept(instantiateRecipe(recipeName, (Map<String, Object>) recipeArgs));
+                    } catch (IllegalArgumentException e) {
+                        if (e.getCause() instanceof InvalidTypeIdException) {
+                            addValidation.accept(Validated.invalid(name, recipeArgs, "Recipe class " + recipeName + " cannot be found"));
+                        } else {
+                            addValidation.accept(Validated.invalid(name, recipeArgs, "Unable to load Recipe: " + e));
+                        }
+                    } catch (NoClassDefFoundError e) {
+                        addValidation.accept(Validated.invalid(name, recipeArgs, "Recipe class " + recipeName + " cannot be found"));
+                    }
+                } else {
+                    addValidation.accept(Validated.invalid(name, recipeArgs,
+                            "Declarative recipeList entries are expected to be strings or mappings"));
+                }
+            } catch (Exception e) {
+                addValidation.accept(Validated.invalid(name, recipeArgs,
+                        "Unexpected declarative recipe parsing exception " + e.getClass().getName()));
+            }
+        } else {
+            addValidation.accept(Validated.invalid(name + ".recipeList[" + i + "] (in " + source + ")", recipeData,
+                    "is an object type that isn't recognized as a recipe.", null));
+        }
+    }
+
+    Recipe instantiateRecipe(String recipeName, Map<String, Object> args) throws IllegalArgumentException {
+        Map<String, Object> withJsonType = new HashMap<>(args);
+        withJsonType.put("@c", recipeName);
+        return mapper().convertValue(withJsonType, Recipe.class);
+    }
+
+    private ObjectMapper mapper() {
+        if (mapper == null) {
+            // configured like the mapper of YamlResourceLoader, so that options bind the same way
+            ObjectMapper m = JsonMapper.builder()
+                    .enable(MapperFeature.ACCEPT_CASE_INSENSITIVE_PROPERTIES)
+                    .enable(MapperFeature.ACCEPT_CASE_INSENSITIVE_ENUMS)
+                    .constructorDetector(ConstructorDetector.USE_PROPERTIES_BASED)
+                    .build()
+                    .registerModule(new ParameterNamesModule())
+                    .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+            RecipeSerializer.maybeAddKotlinModule(m);
+            m.setTypeFactory(TypeFactory.defaultInstance().withClassLoader(classLoader));
+            mapper = m;
+        }
+        return mapper;
+    }
+
+    @Override
+    public Collection<NamedStyles> listStyles() {
+        return Collections.emptyList();
+    }
+
+    @Override
+    public Collection<CategoryDescriptor> listCategoryDescriptors() {
+        List<CategoryDescriptor> categories = new ArrayList<>();
+        for (Map<String, Object> c : documents) {
+            if (!CATEGORY_TYPE.equals(c.get("type")) || !c.containsKey("packageName")) {
+                continue;
+            }
+            String packageName = (String) c.get("packageName");
+            if (packageName.endsWith(".core") || packageName.contains(".core.")) {
+                throw new IllegalArgumentException("The package name 'core' is reserved.");
+            }
+            @SuppressWarnings("unchecked") List<String> tags = (List<String>) c.get("tags");
+            categories.add(new CategoryDescriptor(
+                    (String) c.get("name"),
+                    packageName,
+                    (String) c.get("description"),
+                    tags == null ? Collections.emptySet() : new HashSet<>(tags),
+                    c.containsKey("root") && (Boolean) c.get("root"),
+                    c.containsKey("priority") ? (Integer) c.get("priority") : 0,
+                    false));
+        }
+        return categories;
+    }
+
+    @Override
+    public Map<String, List<Contributor>> listContributors() {
+        Map<String, List<Contributor>> contributors = new HashMap<>();
+        for (Map<String, Object> a : documents) {
+            if (!ATTRIBUTION_TYPE.equals(a.get("type"))) {
+                continue;
+            }
+            @SuppressWarnings("unchecked") List<Map<String, Object>> contributorList =
+                    (List<Map<String, Object>>) a.get("contributors");
+            List<Contributor> recipeContributors = new ArrayList<>(contributorList.size());
+            for (Map<String, Object> contributor : contributorList) {
+                recipeContributors.add(new Contributor((String) contributor.get("name"), (String) contributor.get("email"),
+                        (Integer) contributor.get("lineCount")));
+            }
+            contributors.put((String) a.get("recipeName"), recipeContributors);
+        }
+        return contributors.isEmpty() ? Collections.emptyMap() : contributors;
+    }
+
+    @Override
+    public Map<String, List<RecipeExample>> listRecipeExamples() {
+        Map<String, List<RecipeExample>> examples = new HashMap<>();
+        for (Map<String, Object> e : documents) {
+            if (!EXAMPLE_TYPE.equals(e.get("type"))) {
+                continue;
+            }
+            List<RecipeExample> recipeExamples = examples.computeIfAbsent((String) e.get("recipeName"), name -> new ArrayList<>());
+            @SuppressWarnings("unchecked") List<Map<String, Object>> exampleList = (List<Map<String, Object>>) e.get("examples");
+            for (Map<String, Object> example : exampleList) {
+                RecipeExample recipeExample = new RecipeExample();
+                recipeExample.setDescription((String) example.get("description"));
+                @SuppressWarnings("unchecked") List<Object> parameters = (List<Object>) example.get("parameters");
+                if (parameters != null) {
+                    recipeExample.setParameters(parameters.stream().filter(Objects::nonNull).map(String::valueOf).collect(toList()));
+                }
+                @SuppressWarnings("unchecked") List<Map<String, String>> sourceList = (List<Map<String, String>>) example.get("sources");
+                List<RecipeExample.Source> sources = new ArrayList<>(sourceList.size());
+                for (Map<String, String> source : sourceList) {
+                    sources.add(new RecipeExample.Source(source.get("before"), source.get("after"), source.get("path"),
+                            source.get("language")));
+                }
+                recipeExample.setSources(sources);
+                recipeExamples.add(recipeExample);
+            }
+        }
+        return examples;
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.testing.internal;
+
+import lombok.Value;
+import org.jspecify.annotations.Nullable;
+import org.openrewrite.Cursor;
+import org.openrewrite.java.JavaVisitor;
+import org.openrewrite.java.tree.JavaSourceFile;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Collects the imports to add and remove while rewriting a source file, so that each distinct import change is
+ * requested once when the file is done, rather than once per rewritten element. The ledger is kept on the cursor of the
+ * source file, so that visitors delegating to others share it.
+ * <p>
+ * Visitors write to {@link #of(JavaVisitor)} and extend {@link ImportLedgerVisitor}, which calls
+ * {@link #flush(JavaVisitor)} when done with the source file.
+ */
+public final class ImportLedger {
+    private static final String IMPORT_LEDGER = "importLedger";
+
+    private final Set<ImportChange> changes = new LinkedHashSet<>();
+
+    /**
+     * When the visitor isn't visiting a whole source file, changes are passed on directly.
+     */
+    private final @Nullable JavaVisitor<?> writeThrough;
+
+    private ImportLedger(@Nullable JavaVisitor<?> writeThrough) {
+        this.writeThrough = writeThrough;
+    }
+
+    public static ImportLedger of(JavaVisitor<?> visitor) {
+        for (Cursor c = visitor.getCursor(); c != null; c = c.getParent()) {
+            if (c.getValue() instanceof JavaSourceFile) {
+                return c.computeMessageIfAbsent(IMPORT_LEDGER, k -> new ImportLedger(null));
+            }
+        }
+        return new ImportLedger(visitor);
+    }
+
+    /**
+     * Request the changes collected for the source file at the visitor's cursor.
+     */
+    public static void flush(JavaVisitor<?> visitor) {
+        ImportLedger ledger = visitor.getCursor().pollMessage(IMPORT_LEDGER);
+        if (ledger != null) {
+            for (ImportChange change : ledger.changes) {
+                change.applyTo(visitor);
+            }
+        }
+    }
+
+    public ImportLedger addImport(String type, @Nullable String member) {
+        return addImport(type, member, true);
+    }
+
+    public ImportLedger addImport(String type, @Nullable String member, boolean onlyIfReferenced) {
+        return record(new ImportChange(true, type, member, onlyIfReferenced));
+    }
+
+    public ImportLedger removeImport(String type) {
+        return record(new ImportChange(false, type, null, false));
+    }
+
+    private ImportLedger record(ImportChange change) {
+        if (writeThrough != null) {
+            change.applyTo(writeThrough);
+        } else {
+            changes.add(change);
+        }
+        return this;
+    }
+
+    @Value
+    private static class ImportChange {
+        boolean add;
+        String type;
+
+        @Nullable
+        String member;
+
+        boolean onlyIfReferenced;
+
+        void applyTo(JavaVisitor<?> visitor) {
+            if (add) {
+                visitor.maybeAddImport(type, member, onlyIfReferenced);
+            } else {
+                visitor.maybeRemoveImport(type);
+            }
+        }
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.testing.internal;
+
+import org.jspecify.annotations.Nullable;
+import org.openrewrite.TreeVisitor;
+import org.openrewrite.java.JavaIsoVisitor;
+import org.openrewrite.java.tree.J;
+import org.openrewrite.java.tree.JavaSourceFile;
+
+import java.util.List;
+
+/**
+ * A visitor recording its import changes in the {@link ImportLedger} of the source file, which it flushes when it is
+ * done with any {@link JavaSourceFile}, be it a Java, Kotlin or Groovy compilation unit.
+ * <p>
+ * A visitor can also convert trees on behalf of another one, which then schedules the visits requested by it through
+ * {@link #followUp(ImportLedgerVisitor, TreeVisitor)}.
+ */
+public class ImportLedgerVisitor<P> extends JavaIsoVisitor<P> {
+    private @Nullable ImportLedgerVisitor<P> delegator;
+
+    /**
+     * Makes the visits this visitor requests after visiting a tree the follow-ups of the visitor delegating to it.
+     */
+    public void delegatedFrom(ImportLedgerVisitor<P> delegator) {
+        this.delegator = delegator;
+    }
+
+    /**
+     * Schedules a visit requested by a visitor converting trees on behalf of this one, once per request by default.
+     */
+    protected void followUp(ImportLedgerVisitor<P> delegate, TreeVisitor<?, P> visitor) {
+        doAfterVisit(visitor);
+    }
+
+    @Override
+    protected List<TreeVisitor<?, P>> getAfterVisit() {
+        return delegator == null ? super.getAfterVisit() : delegator.getAfterVisit();
+    }
+
+    @Override
+    protected void doAfterVisit(TreeVisitor<?, P> visitor) {
+        if (delegator == null) {
+            super.doAfterVisit(visitor);
+        } else {
+            delegator.followUp(this, visitor);
+        }
+    }
+
+    @Override
+    public J postVisit(J tree, P p) {
+        J j = super.postVisit(tree, p);
+        if (j instanceof JavaSourceFile) {
+            ImportLedger.flush(this);
+        }
+        return j;
+    }
+}
@@ -0,0 +1,164 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.testing.internal;
+
+import org.jspecify.annotations.Nullable;
+import org.openrewrite.java.tree.J;
+import org.openrewrite.java.tree.JavaType;
+import org.openrewrite.java.tree.TypeUtils;
+
+import java.util.*;
+
+/**
+ * Classifies JUnit Jupiter methods by the roles their annotations give them, with one hash lookup per annotation
+ * instead of a {@link TypeUtils#isOfClassType(JavaType, String)} comparison per annotation and candidate type. That is
+ * cheap enough to repeat on every request, so the roles aren't kept beyond the {@link MethodRoles} returned.
+ */
+public final class JUnit5Annotations {
+    public enum Role {
+        TEST("org.junit.jupiter.api.Test", "org.junit.Test"),
+        TEST_TEMPLATE("org.junit.jupiter.api.TestTemplate"),
+        REPEATED_TEST("org.junit.jupiter.api.RepeatedTest"),
+        PARAMETERIZED_TEST("org.junit.jupiter.params.ParameterizedTest"),
+        TEST_FACTORY("org.junit.jupiter.api.TestFactory"),
+        BEFORE_EACH("org.junit.jupiter.api.BeforeEach", "org.junit.Before"),
+        AFTER_EACH("org.junit.jupiter.api.AfterEach", "org.junit.After"),
+        BEFORE_ALL("org.junit.jupiter.api.BeforeAll", "org.junit.BeforeClass"),
+        AFTER_ALL("org.junit.jupiter.api.AfterAll", "org.junit.AfterClass"),
+        DISABLED("org.junit.jupiter.api.Disabled", "org.junit.Ignore");
+
+        private final String annotation;
+        private final @Nullable String junit4Annotation;
+
+        Role(String annotation) {
+            this(annotation, null);
+        }
+
+        Role(String annotation, @Nullable String junit4Annotation) {
+            this.annotation = annotation;
+            this.junit4Annotation = junit4Annotation;
+        }
+
+        /**
+         * @return The fully qualified name of the JUnit Jupiter annotation giving a method this role.
+         */
+        public String getAnnotation() {
+            return annotation;
+        }
+
+        private int bit() {
+            return 1 << ordinal();
+        }
+    }
+
+    /**
+     * The roles of the methods JUnit Jupiter runs as tests.
+     */
+    public static final Set<Role> TESTS = Collections.unmodifiableSet(EnumSet.of(
+            Role.TEST, Role.TEST_TEMPLATE, Role.REPEATED_TEST, Role.PARAMETERIZED_TEST, Role.TEST_FACTORY));
+
+    /**
+     * The roles of the methods JUnit Jupiter runs before or after tests.
+     */
+    public static final Set<Role> LIFECYCLE = Collections.unmodifiableSet(EnumSet.of(
+            Role.BEFORE_EACH, Role.AFTER_EACH, Role.BEFORE_ALL, Role.AFTER_ALL));
+
+    private static final Map<String, Role> ROLES = new HashMap<>();
+    private static final Map<String, Role> JUNIT4_ROLES = new HashMap<>();
+
+    static {
+        for (Role role : Role.values()) {
+            ROLES.put(role.annotation, role);
+            if (role.junit4Annotation != null) {
+                JUNIT4_ROLES.put(role.junit4Annotation, role);
+            }
+        }
+    }
+
+    private JUnit5Annotations() {
+    }
+
+    /**
+     * @return The role a JUnit Jupiter annotation of this type gives a method, or {@code null} for other annotations.
+     */
+    public static @Nullable Role roleOf(@Nullable JavaType annotationType) {
+        JavaType.FullyQualified fq = TypeUtils.asFullyQualified(annotationType);
+        return fq == null ? null : ROLES.get(fq.getFullyQualifiedName());
+    }
+
+    /**
+     * @return The role a JUnit 4 annotation of this type gives a method in JUnit Jupiter terms, or {@code null} for
+     * other annotations.
+     */
+    public static @Nullable Role junit4RoleOf(@Nullable JavaType annotationType) {
+        JavaType.FullyQualified fq = TypeUtils.asFullyQualified(annotationType);
+        return fq == null ? null : JUNIT4_ROLES.get(fq.getFullyQualifiedName());
+    }
+
+    /**
+     * @return The roles the JUnit Jupiter annotations of the method declaration give it, wherever they are placed
+     * among its modifiers.
+     */
+    public static MethodRoles of(J.MethodDeclaration method) {
+        int bits = 0;
+        for (J.Annotation annotation : method.getAllAnnotations()) {
+            Role role = roleOf(annotation.getType());
+            if (role != null) {
+                bits |= role.bit();
+            }
+        }
+        return new MethodRoles(bits);
+    }
+
+    /**
+     * @return The roles the annotations of the method type give it, counting the JUnit 4 annotations as their JUnit
+     * Jupiter equivalents when {@code includeJUnit4} is set, as for methods that have yet to be migrated.
+     */
+    public static MethodRoles of(JavaType.Method method, boolean includeJUnit4) {
+        int bits = 0;
+        for (JavaType.FullyQualified annotation : method.getAnnotations()) {
+            Role role = roleOf(annotation);
+            if (role == null && includeJUnit4) {
+                role = junit4RoleOf(annotation);
+            }
+            if (role != null) {
+                bits |= role.bit();
+            }
+        }
+        return new MethodRoles(bits);
+    }
+
+    public static final class MethodRoles {
+        private final int roles;
+
+        private MethodRoles(int roles) {
+            this.roles = roles;
+        }
+
+        public boolean has(Role role) {
+            return (roles & role.bit()) != 0;
+        }
+
+        public boolean hasAny(Collection<Role> roles) {
+            for (Role role : roles) {
+                if (has(role)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
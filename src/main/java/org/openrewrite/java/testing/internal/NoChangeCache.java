@@ -0,0 +1,394 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.testing.internal;
+
+import org.jspecify.annotations.Nullable;
+import org.openrewrite.*;
+import org.openrewrite.config.OptionDescriptor;
+import org.openrewrite.internal.ListUtils;
+import org.openrewrite.java.marker.JavaSourceSet;
+import org.openrewrite.java.tree.JavaType;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.ref.Reference;
+import java.lang.ref.WeakReference;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.CodeSource;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * An on-disk record of the recipes that made no change to a source file, so that a later run over the same source
+ * file can skip them. Outcomes are keyed by the hash of the printed source file, the hash of its type attribution
+ * classpath, and the name and options of the recipe together with the version of this module.
+ * <p>
+ * Keys are appended to a log file in the cache directory. When the log outgrows its size limit, it is compacted to the
+ * most recently recorded or used keys.
+ * <p>
+ * Only recipes that edit are cached: a {@link ScanningRecipe} depends on what it saw in other source files, so it and
+ * its recipe list are always run. Recipes whose only outcome is a data table row or an {@link ExecutionContext} side
+ * effect must not be wrapped, as a skipped run doesn't produce these. That includes the recipes of a declarative recipe
+ * gated by preconditions: the bellwether evaluating the preconditions has to see every source file, and the recipes it
+ * gates may leave a source file unchanged only because the preconditions didn't hold, so their outcomes can't be
+ * shared with ungated instances of the same recipes.
+ */
+public final class NoChangeCache {
+    private static final String LOG_FILE = "no-change.log";
+    private static final int ENTRY_BYTES = 65;
+    private static final String CONTENT_HASHES = "org.openrewrite.java.testing.noChangeCache.contentHashes";
+    private static final Map<Path, NoChangeCache> OPEN = new ConcurrentHashMap<>();
+    private static final Set<String> GATED_BY_PRECONDITIONS = new HashSet<>(Arrays.asList(
+            "org.openrewrite.config.DeclarativeRecipe$PreconditionBellwether",
+            "org.openrewrite.config.DeclarativeRecipe$BellwetherDecoratedRecipe"));
+
+    private final Path log;
+    private final long maxBytes;
+    private final Map<UUID, String> classpathHashes = new ConcurrentHashMap<>();
+
+    /**
+     * In least to most recently used order.
+     */
+    private final LinkedHashSet<String> keys = new LinkedHashSet<>();
+    private final Set<String> touched = new HashSet<>();
+    private long logBytes;
+    private @Nullable FileChannel out;
+
+    private NoChangeCache(Path directory, long maxBytes) {
+        this.log = directory.resolve(LOG_FILE);
+        this.maxBytes = maxBytes;
+        try {
+            Files.createDirectories(directory);
+            if (Files.exists(log)) {
+                List<String> lines = Files.readAllLines(log, StandardCharsets.US_ASCII);
+                for (String line : lines) {
+                    keys.remove(line);
+                    keys.add(line);
+                }
+                logBytes = Files.size(log);
+                if (logBytes > maxBytes || keys.size() < lines.size()) {
+                    compact();
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * @param directory The directory to keep the cache in, created when missing.
+     * @param maxBytes  The size the cache is kept under.
+     * @return The cache of this directory, shared by all callers in this JVM.
+     * @throws IllegalArgumentException When the cache of this directory is already open with another size limit.
+     */
+    public static NoChangeCache open(Path directory, long maxBytes) {
+        NoChangeCache cache = OPEN.computeIfAbsent(directory.toAbsolutePath().normalize(), dir -> new NoChangeCache(dir, maxBytes));
+        if (cache.maxBytes != maxBytes) {
+            throw new IllegalArgumentException("The cache in " + directory + " is already open with a size limit of " +
+                                               cache.maxBytes + " bytes, not " + maxBytes + " bytes");
+        }
+        return cache;
+    }
+
+    /**
+     * @return A recipe doing the same as {@code recipe}, but skipping the source files it is known to leave unchanged.
+     */
+    public Recipe wrap(Recipe recipe) {
+        return recipe instanceof ScanningRecipe || recipe instanceof Cached ||
+               GATED_BY_PRECONDITIONS.contains(recipe.getClass().getName()) ? recipe : new Cached(this, recipe);
+    }
+
+    synchronized int size() {
+        return keys.size();
+    }
+
+    synchronized boolean contains(String key) {
+        if (!keys.contains(key)) {
+            return false;
+        }
+        use(key);
+        return true;
+    }
+
+    synchronized void record(String key) {
+        use(key);
+    }
+
+    /**
+     * Move the key to the most recently used end, and log it once per run so that the order survives to the next run.
+     */
+    private void use(String key) {
+        keys.remove(key);
+        keys.add(key);
+        if (touched.add(key)) {
+            append(key);
+        }
+    }
+
+    private void append(String key) {
+        try {
+            if (out == null) {
+                out = FileChannel.open(log, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            }
+            out.write(ByteBuffer.wrap((key + "\n").getBytes(StandardCharsets.US_ASCII)));
+            logBytes += ENTRY_BYTES;
+            if (logBytes > maxBytes) {
+                compact();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Rewrite the log without duplicates, keeping the most recently used keys within three quarters of the size limit,
+     * so that compaction isn't repeated on every following append.
+     */
+    private void compact() throws IOException {
+        long keep = maxBytes * 3 / 4 / ENTRY_BYTES;
+        Iterator<String> oldest = keys.iterator();
+        for (long evict = keys.size() - keep; evict > 0 && oldest.hasNext(); evict--) {
+            touched.remove(oldest.next());
+            oldest.remove();
+        }
+        if (out != null) {
+            out.close();
+            out = null;
+        }
+        Path tmp = Files.createTempFile(log.getParent(), LOG_FILE, ".tmp");
+        Files.write(tmp, keys, StandardCharsets.US_ASCII);
+        Files.move(tmp, log, StandardCopyOption.REPLACE_EXISTING);
+        logBytes = (long) keys.size() * ENTRY_BYTES;
+    }
+
+    private String key(SourceFile sourceFile, String recipeKey, ExecutionContext ctx) {
+        return sha256(contentHash(sourceFile, ctx) + '\n' + classpathHash(sourceFile) + '\n' + recipeKey);
+    }
+
+    /**
+     * The content hash is computed once per version of a source file in a run, rather than once per wrapped recipe. It
+     * only holds a weak reference to that version, so that the hashes don't keep source files in memory.
+     */
+    static String contentHash(SourceFile sourceFile, ExecutionContext ctx) {
+        Map<UUID, ContentHash> hashes = ctx.getMessage(CONTENT_HASHES);
+        if (hashes == null) {
+            hashes = new ConcurrentHashMap<>();
+            ctx.putMessage(CONTENT_HASHES, hashes);
+        }
+        ContentHash hash = hashes.get(sourceFile.getId());
+        if (hash == null || hash.sourceFile.get() != sourceFile) {
+            hash = new ContentHash(sourceFile, sha256(sourceFile.getSourcePath() + "\n" + sourceFile.printAll()));
+            hashes.put(sourceFile.getId(), hash);
+        }
+        return hash.hash;
+    }
+
+    private String classpathHash(SourceFile sourceFile) {
+        JavaSourceSet sourceSet = sourceFile.getMarkers().findFirst(JavaSourceSet.class).orElse(null);
+        if (sourceSet == null) {
+            return "";
+        }
+        return classpathHashes.computeIfAbsent(sourceSet.getId(), id -> {
+            StringBuilder classpath = new StringBuilder();
+            if (sourceSet.getGavToTypes().isEmpty()) {
+                for (JavaType.FullyQualified type : sourceSet.getClasspath()) {
+                    classpath.append(type.getFullyQualifiedName()).append('\n');
+                }
+            } else {
+                for (String gav : new TreeSet<>(sourceSet.getGavToTypes().keySet())) {
+                    classpath.append(gav).append('\n');
+                }
+            }
+            return sha256(classpath.toString());
+        });
+    }
+
+    private static String recipeKey(Recipe recipe) {
+        StringBuilder key = new StringBuilder(recipe.getName());
+        for (OptionDescriptor option : recipe.getDescriptor().getOptions()) {
+            key.append('\n').append(option.getName()).append('=').append(option.getValue());
+        }
+        return key.append('\n').append(moduleVersion()).toString();
+    }
+
+    /**
+     * The version of this module, or when running from a build directory the time it was last built.
+     */
+    private static String moduleVersion() {
+        String version = NoChangeCache.class.getPackage().getImplementationVersion();
+        if (version != null) {
+            return version;
+        }
+        CodeSource codeSource = NoChangeCache.class.getProtectionDomain().getCodeSource();
+        URL location = codeSource == null ? null : codeSource.getLocation();
+        if (location != null && "file".equals(location.getProtocol())) {
+            try {
+                Path classes = Paths.get(location.toURI());
+                Path self = Files.isDirectory(classes) ?
+                        classes.resolve(NoChangeCache.class.getName().replace('.', '/') + ".class") :
+                        classes;
+                return Long.toString(Files.getLastModifiedTime(self).toMillis());
+            } catch (Exception ignored) {
+                // fall through to an unknown version
+            }
+        }
+        return "unknown";
+    }
+
+    private static String sha256(String s) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(s.getBytes(StandardCharsets.UTF_8));
+            StringBuilder hex = new StringBuilder(digest.length * 2);
+            for (byte b : digest) {
+                hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static class ContentHash {
+        private final Reference<SourceFile> sourceFile;
+        private final String hash;
+
+        private ContentHash(SourceFile sourceFile, String hash) {
+            this.sourceFile = new WeakReference<>(sourceFile);
+            this.hash = hash;
+        }
+    }
+
+    private static class Cached extends Recipe {
+        private static final Class<?> NOOP = TreeVisitor.noop().getClass();
+
+        private final NoChangeCache cache;
+        private final Recipe delegate;
+        private @Nullable String recipeKey;
+        private @Nullable Boolean composite;
+
+        private Cached(NoChangeCache cache, Recipe delegate) {
+            this.cache = cache;
+            this.delegate = delegate;
+        }
+
+        @Override
+        public String getName() {
+            return delegate.getName();
+        }
+
+        @Override
+        public String getDisplayName() {
+            return delegate.getDisplayName();
+        }
+
+        @Override
+        public String getDescription() {
+            return delegate.getDescription();
+        }
+
+        @Override
+        public int maxCycles() {
+            return delegate.maxCycles();
+        }
+
+        @Override
+        public boolean causesAnotherCycle() {
+            return delegate.causesAnotherCycle();
+        }
+
+        @Override
+        public List<Recipe> getRecipeList() {
+            return ListUtils.map(delegate.getRecipeList(), cache::wrap);
+        }
+
+        private String recipeKey() {
+            if (recipeKey == null) {
+                recipeKey = NoChangeCache.recipeKey(delegate);
+            }
+            return recipeKey;
+        }
+
+        @Override
+        public TreeVisitor<?, ExecutionContext> getVisitor() {
+            if (composite == null) {
+                composite = delegate.getVisitor().getClass() == NOOP;
+            }
+            if (composite) {
+                // Composite recipes have nothing to skip, so spare hashing the source files for them
+                return TreeVisitor.noop();
+            }
+            return new TreeVisitor<Tree, ExecutionContext>() {
+                private @Nullable TreeVisitor<?, ExecutionContext> visitor;
+                private @Nullable SourceFile keyed;
+                private @Nullable String key;
+
+                /**
+                 * The visitor of the delegate is only made for source files that aren't skipped, as making it may
+                 * already take some work, like building preconditions.
+                 */
+                private TreeVisitor<?, ExecutionContext> visitor() {
+                    if (visitor == null) {
+                        visitor = delegate.getVisitor();
+                    }
+                    return visitor;
+                }
+
+                private String key(SourceFile sourceFile, ExecutionContext ctx) {
+                    if (keyed != sourceFile || key == null) {
+                        keyed = sourceFile;
+                        key = cache.key(sourceFile, recipeKey(), ctx);
+                    }
+                    return key;
+                }
+
+                @Override
+                public boolean isAcceptable(SourceFile sourceFile, ExecutionContext ctx) {
+                    return cache.contains(key(sourceFile, ctx)) || visitor().isAcceptable(sourceFile, ctx);
+                }
+
+                /**
+                 * The delegate visits under the cursor the run passed in, as visitors keep state on its root across
+                 * source files, like the templates they already compiled.
+                 */
+                @Override
+                public @Nullable Tree visit(@Nullable Tree tree, ExecutionContext ctx) {
+                    if (!(tree instanceof SourceFile)) {
+                        return visitor().visit(tree, ctx, getCursor());
+                    }
+                    String key = key((SourceFile) tree, ctx);
+                    if (cache.contains(key)) {
+                        return tree;
+                    }
+                    Tree after = visitor().visit(tree, ctx, getCursor());
+                    if (after == tree) {
+                        cache.record(key);
+                    }
+                    return after;
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,158 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.testing.internal;
+
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.SourceFile;
+import org.openrewrite.TreeVisitor;
+import org.openrewrite.gradle.marker.GradleProject;
+import org.openrewrite.java.JavaIsoVisitor;
+import org.openrewrite.java.MethodMatcher;
+import org.openrewrite.java.dependencies.DependencyInsight;
+import org.openrewrite.java.tree.J;
+import org.openrewrite.java.tree.JavaSourceFile;
+import org.openrewrite.java.tree.JavaType;
+import org.openrewrite.maven.tree.MavenResolutionResult;
+import org.openrewrite.xml.tree.Xml;
+
+import java.lang.ref.Reference;
+import java.lang.ref.WeakReference;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The facts about a source file that the scanning recipes of this module look for, gathered once for all of them: the
+ * extended classes and JUnit 4 {@code assertThat} calls of Java source files, and the Mockito dependencies of Maven and
+ * Gradle build files.
+ * <p>
+ * The facts are kept on the {@link ExecutionContext} for the version of the source file they were gathered from, so
+ * that every scanning recipe in a run, and every cycle of a run in which the source file didn't change, shares them.
+ * They only hold a weak reference to that version, so that they don't keep source files in memory.
+ */
+public final class ScanFacts {
+    private static final String SCAN_FACTS = "org.openrewrite.java.testing.scanFacts";
+    private static final MethodMatcher JUNIT4_ASSERT_THAT = new MethodMatcher("org.junit.Ass* *That(..)");
+
+    private final Reference<SourceFile> sourceFile;
+    private final Set<String> extendedClasses;
+    private final boolean usingJUnit4AssertThat;
+    private final boolean resolvingMockitoBefore2_17;
+    private final boolean declaringMockitoAll;
+
+    private ScanFacts(SourceFile sourceFile, ExecutionContext ctx) {
+        this.sourceFile = new WeakReference<>(sourceFile);
+        if (sourceFile instanceof JavaSourceFile) {
+            this.extendedClasses = extendedClasses((JavaSourceFile) sourceFile);
+            this.usingJUnit4AssertThat = usingJUnit4AssertThat((JavaSourceFile) sourceFile);
+        } else {
+            this.extendedClasses = Collections.emptySet();
+            this.usingJUnit4AssertThat = false;
+        }
+        if (isBuildFile(sourceFile)) {
+            this.resolvingMockitoBefore2_17 = matches(sourceFile, ctx,
+                    new DependencyInsight("org.mockito", "mockito-*", "[1.1,2.17)", null).getVisitor());
+            if (sourceFile instanceof Xml.Document) {
+                this.declaringMockitoAll = matches(sourceFile, ctx,
+                        new org.openrewrite.maven.search.FindDependency("org.mockito", "mockito-all", null, null).getVisitor());
+            } else {
+                this.declaringMockitoAll = sourceFile instanceof J && matches(sourceFile, ctx,
+                        new org.openrewrite.gradle.search.FindDependency("org.mockito", "mockito-all", null).getVisitor());
+            }
+        } else {
+            this.resolvingMockitoBefore2_17 = false;
+            this.declaringMockitoAll = false;
+        }
+    }
+
+    private static Set<String> extendedClasses(JavaSourceFile sourceFile) {
+        Set<String> extended = new HashSet<>();
+        new JavaIsoVisitor<Set<String>>() {
+            @Override
+            public J.ClassDeclaration visitClassDeclaration(J.ClassDeclaration classDecl, Set<String> extended) {
+                if (classDecl.getExtends() != null) {
+                    extended.add(String.valueOf(classDecl.getExtends().getType()));
+                }
+                return super.visitClassDeclaration(classDecl, extended);
+            }
+        }.visit(sourceFile, extended);
+        return extended.isEmpty() ? Collections.emptySet() : Collections.unmodifiableSet(extended);
+    }
+
+    private static boolean usingJUnit4AssertThat(JavaSourceFile sourceFile) {
+        for (JavaType.Method type : sourceFile.getTypesInUse().getUsedMethods()) {
+            if (JUNIT4_ASSERT_THAT.matches(type)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean matches(SourceFile sourceFile, ExecutionContext ctx, TreeVisitor<?, ExecutionContext> search) {
+        return search.visit(sourceFile, ctx) != sourceFile;
+    }
+
+    /**
+     * A cheap marker check for the Maven and Gradle build files, as only they have dependency facts.
+     */
+    public static boolean isBuildFile(SourceFile sourceFile) {
+        return sourceFile.getMarkers().findFirst(MavenResolutionResult.class).isPresent() ||
+               sourceFile.getMarkers().findFirst(GradleProject.class).isPresent();
+    }
+
+    public static ScanFacts of(SourceFile sourceFile, ExecutionContext ctx) {
+        Map<UUID, ScanFacts> facts = ctx.getMessage(SCAN_FACTS);
+        if (facts == null) {
+            facts = new ConcurrentHashMap<>();
+            ctx.putMessage(SCAN_FACTS, facts);
+        }
+        ScanFacts f = facts.get(sourceFile.getId());
+        if (f == null || f.sourceFile.get() != sourceFile) {
+            f = new ScanFacts(sourceFile, ctx);
+            facts.put(sourceFile.getId(), f);
+        }
+        return f;
+    }
+
+    /**
+     * @return The types in the {@code extends} clause of the classes declared in the source file, as their
+     * {@link String#valueOf(Object) string value}.
+     */
+    public Set<String> getExtendedClasses() {
+        return extendedClasses;
+    }
+
+    /**
+     * @return {@code true} when the source file calls JUnit 4's {@code assertThat} or {@code assumeThat}.
+     */
+    public boolean isUsingJUnit4AssertThat() {
+        return usingJUnit4AssertThat;
+    }
+
+    /**
+     * @return {@code true} when the build file resolves a Mockito artifact of a version from 1.1 up to 2.17, before
+     * Mockito's JUnit 5 extension defaulted to strict stubs.
+     */
+    public boolean isResolvingMockitoBefore2_17() {
+        return resolvingMockitoBefore2_17;
+    }
+
+    /**
+     * @return {@code true} when the build file declares a dependency on {@code org.mockito:mockito-all}.
+     */
+    public boolean isDeclaringMockitoAll() {
+        return declaringMockitoAll;
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.testing.internal;
+
+import org.jspecify.annotations.Nullable;
+import org.openrewrite.java.tree.JavaType;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Renders {@link JavaType}s to {@link org.openrewrite.java.JavaTemplate} placeholders like {@code #{any(java.lang.String)}}.
+ * The placeholders of primitives are rendered once, and the others are cheap enough to render on each call.
+ */
+public final class TemplatePlaceholders {
+    private static final String OBJECT = "java.lang.Object";
+
+    private static final Map<JavaType.Primitive, String> ANY_PRIMITIVE = new EnumMap<>(JavaType.Primitive.class);
+
+    static {
+        for (JavaType.Primitive primitive : JavaType.Primitive.values()) {
+            if (primitive == JavaType.Primitive.Null) {
+                ANY_PRIMITIVE.put(primitive, "#{any()}");
+            } else if (primitive != JavaType.Primitive.None && primitive != JavaType.Primitive.Void) {
+                ANY_PRIMITIVE.put(primitive, "#{any(" + primitive.getKeyword() + ")}");
+            }
+        }
+    }
+
+    private TemplatePlaceholders() {
+    }
+
+    /**
+     * @return {@code #{any(fqn)}}
+     */
+    public static String any(String fqn) {
+        return "#{any(" + fqn + ")}";
+    }
+
+    /**
+     * @return {@code #{anyArray(elementFqn)}}
+     */
+    public static String anyArray(String elementFqn) {
+        return "#{anyArray(" + elementFqn + ")}";
+    }
+
+    /**
+     * @return The placeholder for a primitive, {@code #{any()}} for {@code null}, or {@code null} for {@code void}.
+     */
+    public static @Nullable String any(JavaType.Primitive primitive) {
+        return ANY_PRIMITIVE.get(primitive);
+    }
+
+    /**
+     * The erasure of a type when it is a primitive or a JDK type, which are always on the template classpath, and
+     * {@code java.lang.Object} otherwise, including for the type of {@code null}. Arrays of JDK types are rendered like {@code java.lang.String[]}.
+     */
+    public static String jdkErasureOrObject(@Nullable JavaType type) {
+        if (type instanceof JavaType.Primitive) {
+            JavaType.Primitive primitive = (JavaType.Primitive) type;
+            return ANY_PRIMITIVE.containsKey(primitive) && primitive != JavaType.Primitive.Null ? primitive.getKeyword() : OBJECT;
+        } else if (type instanceof JavaType.FullyQualified) {
+            String fqn = ((JavaType.FullyQualified) type).getFullyQualifiedName();
+            return fqn.startsWith("java.") ? fqn : OBJECT;
+        } else if (type instanceof JavaType.Array) {
+            JavaType elemType = ((JavaType.Array) type).getElemType();
+            if (elemType instanceof JavaType.FullyQualified) {
+                String fqn = ((JavaType.FullyQualified) elemType).getFullyQualifiedName();
+                if (fqn.startsWith("java.")) {
+                    return fqn + "[]";
+                }
+            }
+        }
+        return OBJECT;
+    }
+}
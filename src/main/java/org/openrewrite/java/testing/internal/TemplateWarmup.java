@@ -0,0 +1,154 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.testing.internal;
+
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.InMemoryExecutionContext;
+import org.openrewrite.java.JavaIsoVisitor;
+import org.openrewrite.java.JavaParser;
+import org.openrewrite.java.JavaTemplate;
+import org.openrewrite.java.tree.J;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+import static java.util.stream.Collectors.joining;
+
+/**
+ * Compiles a template against each of the classpath resource sets that the templates of this module are parsed
+ * against, so that a long-running host pays for loading and JIT-compiling the parser, and for
+ * extracting the classpath resources, at startup rather than on its first job.
+ * <p>
+ * Templates are only cached per source file by {@link JavaTemplate} itself, so there is no cache shared between jobs
+ * to populate: the warm-up instead exercises the same code paths with the same classpaths.
+ */
+public final class TemplateWarmup {
+    /**
+     * A type of each classpath resource, which the warm-up templates reference to have the parser read the resource.
+     */
+    private static final Map<String, String> RESOURCE_TYPES = new LinkedHashMap<>();
+
+    static {
+        RESOURCE_TYPES.put("apiguardian-api-1.1", "org.apiguardian.api.API");
+        RESOURCE_TYPES.put("assertj-core-3.24", "org.assertj.core.api.Assertions");
+        RESOURCE_TYPES.put("hamcrest-2.2", "org.hamcrest.Matchers");
+        RESOURCE_TYPES.put("junit-4.13", "org.junit.Assert");
+        RESOURCE_TYPES.put("junit-jupiter-api-5.9", "org.junit.jupiter.api.Assertions");
+        RESOURCE_TYPES.put("junit-jupiter-params-5.9", "org.junit.jupiter.params.ParameterizedTest");
+        RESOURCE_TYPES.put("mockito-core", "org.mockito.Mockito");
+        RESOURCE_TYPES.put("mockito-core-3.12", "org.mockito.Mockito");
+        RESOURCE_TYPES.put("mockito-junit-jupiter", "org.mockito.junit.jupiter.MockitoExtension");
+        RESOURCE_TYPES.put("mockito-junit-jupiter-3.12", "org.mockito.junit.jupiter.MockitoExtension");
+        RESOURCE_TYPES.put("mockwebserver-3.14", "okhttp3.mockwebserver.MockWebServer");
+        RESOURCE_TYPES.put("testng-7.7", "org.testng.Assert");
+    }
+
+    /**
+     * The sets of classpath resources passed to {@link JavaParser.Builder#classpathFromResources} by the templates of
+     * this module, kept in sync with the literals in the recipes by {@code TemplateWarmupTest}.
+     */
+    private enum ResourceSet {
+        ASSERTJ("assertj-core-3.24"),
+        ASSERTJ_HAMCREST_JUPITER("assertj-core-3.24", "hamcrest-2.2", "junit-jupiter-api-5.9"),
+        MOCKWEBSERVER("junit-4.13", "junit-jupiter-api-5.9", "apiguardian-api-1.1", "mockwebserver-3.14"),
+        JUPITER("junit-jupiter-api-5.9"),
+        JUPITER_APIGUARDIAN("junit-jupiter-api-5.9", "apiguardian-api-1.1"),
+        JUPITER_ASSERTJ("junit-jupiter-api-5.9", "assertj-core-3.24"),
+        JUPITER_HAMCREST("junit-jupiter-api-5.9", "hamcrest-2.2"),
+        JUPITER_HAMCREST_PARAMS("junit-jupiter-api-5.9", "hamcrest-2.2", "junit-jupiter-params-5.9"),
+        JUPITER_JUNIT4("junit-jupiter-api-5.9", "junit-4.13"),
+        JUPITER_PARAMS("junit-jupiter-api-5.9", "junit-jupiter-params-5.9"),
+        JUPITER_MOCKITO_EXTENSION("junit-jupiter-api-5.9", "mockito-junit-jupiter-3.12"),
+        PARAMS("junit-jupiter-params-5.9"),
+        MOCKITO("mockito-core-3.12"),
+        MOCKITO_EXTENSION_LATEST("mockito-junit-jupiter", "mockito-core"),
+        MOCKITO_EXTENSION("mockito-junit-jupiter-3.12", "mockito-core-3.12"),
+        TESTNG("testng-7.7");
+
+        private final List<String> resources;
+
+        ResourceSet(String... resources) {
+            this.resources = Collections.unmodifiableList(Arrays.asList(resources));
+        }
+    }
+
+    private TemplateWarmup() {
+    }
+
+    public static List<List<String>> classpathResourceSets() {
+        List<List<String>> resourceSets = new ArrayList<>();
+        for (ResourceSet resourceSet : ResourceSet.values()) {
+            resourceSets.add(resourceSet.resources);
+        }
+        return resourceSets;
+    }
+
+    /**
+     * Warms up on a daemon thread, for hosts to call at startup without delaying it.
+     *
+     * @return A future completed once every classpath resource set has been warmed up.
+     */
+    public static CompletableFuture<Void> warmUpInBackground() {
+        Executor daemon = task -> {
+            Thread thread = new Thread(task, "rewrite-testing-template-warmup");
+            thread.setDaemon(true);
+            thread.start();
+        };
+        return CompletableFuture.runAsync(() -> warmUp(new InMemoryExecutionContext()), daemon);
+    }
+
+    /**
+     * Compiles one template per classpath resource set. Failures are reported to the context's error handler rather
+     * than thrown, as warming up is only ever an optimization.
+     */
+    public static void warmUp(ExecutionContext ctx) {
+        J.CompilationUnit cu = JavaParser.fromJavaVersion().build()
+                .parse(ctx, "class Warmup {\n    void warmup() {\n    }\n}")
+                .map(J.CompilationUnit.class::cast)
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException("Could not parse the warm-up source"));
+        for (List<String> resources : classpathResourceSets()) {
+            try {
+                warmUp(cu, resources, ctx);
+            } catch (Exception e) {
+                ctx.getOnError().accept(e);
+            }
+        }
+    }
+
+    private static void warmUp(J.CompilationUnit cu, List<String> resources, ExecutionContext ctx) {
+        List<String> types = new ArrayList<>(resources.size());
+        for (String resource : resources) {
+            types.add(Objects.requireNonNull(RESOURCE_TYPES.get(resource), resource));
+        }
+        JavaTemplate template = JavaTemplate.builder("Object[] warmup = {" +
+                                                     types.stream().map(t -> t.substring(t.lastIndexOf('.') + 1) + ".class").collect(joining(", ")) +
+                                                     "};")
+                .imports(types.toArray(new String[0]))
+                .javaParser(JavaParser.fromJavaVersion().classpathFromResources(ctx, resources.toArray(new String[0])))
+                .build();
+        new JavaIsoVisitor<ExecutionContext>() {
+            @Override
+            public J.Block visitBlock(J.Block block, ExecutionContext ctx) {
+                if (getCursor().getParentTreeCursor().getValue() instanceof J.MethodDeclaration) {
+                    return template.apply(getCursor(), block.getCoordinates().lastStatement());
+                }
+                return super.visitBlock(block, ctx);
+            }
+        }.visitNonNull(cu, ctx);
+    }
+}
@@ -0,0 +1,165 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.testing.internal;
+
+import org.jspecify.annotations.Nullable;
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.Tree;
+import org.openrewrite.TreeVisitor;
+import org.openrewrite.java.tree.J;
+import org.openrewrite.java.tree.JavaSourceFile;
+import org.openrewrite.java.tree.JavaType;
+import org.openrewrite.java.tree.TypeUtils;
+import org.openrewrite.marker.SearchResult;
+
+import java.lang.ref.Reference;
+import java.lang.ref.WeakReference;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The test frameworks that a Java source file uses, as a bitset detected once per version of the source file from the
+ * types it uses and imports, so that recipes can skip the source files that don't use their framework before visiting
+ * them. Like {@link ScanFacts}, the detected frameworks are kept on the {@link ExecutionContext} rather than in a
+ * marker on the source file, which would go stale as soon as a recipe changed the imports, and only hold a weak
+ * reference to the version of the source file they were detected in.
+ */
+public final class TestFrameworks {
+    private static final String TEST_FRAMEWORKS = "org.openrewrite.java.testing.testFrameworks";
+
+    public enum Framework {
+        JUNIT3("junit.framework."),
+        JUNIT4("org.junit."),
+        JUNIT5("org.junit.jupiter.", "org.junit.platform."),
+        TESTNG("org.testng."),
+        HAMCREST("org.hamcrest."),
+        ASSERTJ("org.assertj."),
+        MOCKITO("org.mockito."),
+        JMOCKIT("mockit."),
+        POWERMOCK("org.powermock."),
+        WIREMOCK("com.github.tomakehurst.wiremock."),
+        MOCKWEBSERVER("okhttp3.mockwebserver.", "mockwebserver3."),
+        TESTCONTAINERS("org.testcontainers.");
+
+        private final String[] packagePrefixes;
+
+        Framework(String... packagePrefixes) {
+            this.packagePrefixes = packagePrefixes;
+        }
+
+        private int bit() {
+            return 1 << ordinal();
+        }
+    }
+
+    /**
+     * Checked in order, so that JUnit 5's packages are matched before JUnit 4's {@code org.junit}.
+     */
+    private static final Framework[] DETECTION_ORDER = {
+            Framework.JUNIT5, Framework.JUNIT4, Framework.JUNIT3, Framework.TESTNG, Framework.HAMCREST,
+            Framework.ASSERTJ, Framework.MOCKITO, Framework.JMOCKIT, Framework.POWERMOCK, Framework.WIREMOCK,
+            Framework.MOCKWEBSERVER, Framework.TESTCONTAINERS
+    };
+
+    private final Reference<JavaSourceFile> sourceFile;
+    private final int frameworks;
+
+    private TestFrameworks(JavaSourceFile sourceFile) {
+        this.sourceFile = new WeakReference<>(sourceFile);
+        int detected = 0;
+        for (JavaType type : sourceFile.getTypesInUse().getTypesInUse()) {
+            JavaType.FullyQualified fq = TypeUtils.asFullyQualified(type);
+            if (fq != null) {
+                detected |= detect(fq.getFullyQualifiedName());
+            }
+        }
+        for (JavaType.Method method : sourceFile.getTypesInUse().getUsedMethods()) {
+            detected |= detect(method.getDeclaringType().getFullyQualifiedName());
+        }
+        // imports of types missing from the classpath still tell which framework the source file is written against
+        for (J.Import anImport : sourceFile.getImports()) {
+            detected |= detect(anImport.getTypeName());
+        }
+        this.frameworks = detected;
+    }
+
+    private static int detect(String fqn) {
+        for (Framework framework : DETECTION_ORDER) {
+            for (String prefix : framework.packagePrefixes) {
+                if (fqn.startsWith(prefix)) {
+                    return framework.bit();
+                }
+            }
+        }
+        return 0;
+    }
+
+    public static TestFrameworks of(JavaSourceFile sourceFile, ExecutionContext ctx) {
+        Map<UUID, TestFrameworks> all = ctx.getMessage(TEST_FRAMEWORKS);
+        if (all == null) {
+            all = new ConcurrentHashMap<>();
+            ctx.putMessage(TEST_FRAMEWORKS, all);
+        }
+        TestFrameworks f = all.get(sourceFile.getId());
+        if (f == null || f.sourceFile.get() != sourceFile) {
+            f = new TestFrameworks(sourceFile);
+            all.put(sourceFile.getId(), f);
+        }
+        return f;
+    }
+
+    /**
+     * A precondition like {@link org.openrewrite.java.search.UsesType} that matches the Java source files using any
+     * of the given frameworks.
+     */
+    public static TreeVisitor<?, ExecutionContext> using(Framework... frameworks) {
+        int mask = 0;
+        for (Framework framework : frameworks) {
+            mask |= framework.bit();
+        }
+        int anyOf = mask;
+        return new TreeVisitor<Tree, ExecutionContext>() {
+            @Override
+            public @Nullable Tree visit(@Nullable Tree tree, ExecutionContext ctx) {
+                if (tree instanceof JavaSourceFile && (of((JavaSourceFile) tree, ctx).frameworks & anyOf) != 0) {
+                    return SearchResult.found(tree);
+                }
+                return tree;
+            }
+        };
+    }
+
+    public boolean uses(Framework framework) {
+        return (frameworks & framework.bit()) != 0;
+    }
+
+    public boolean usesAny(Framework... frameworks) {
+        for (Framework framework : frameworks) {
+            if (uses(framework)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return {@code true} when the source file uses any of the test frameworks.
+     */
+    public boolean isTestSource() {
+        return frameworks != 0;
+    }
+}
@@ -20,6 +20,7 @@ import org.openrewrite.ExecutionContext;
 import org.openrewrite.java.JavaParser;
 import org.openrewrite.java.JavaTemplate;
 import org.openrewrite.java.JavaVisitor;
+import org.openrewrite.java.testing.internal.TemplatePlaceholders;
 import org.openrewrite.java.tree.*;
 
 import java.util.*;
@@ -72,6 +73,8 @@ class ArgumentMatchersRewriter {
         PRIMITIVE_TO_MOCKITO_ARGUMENT_MATCHER.put(JavaType.Primitive.Short, "anyShort");
     }
 
+    private static final String ANY_CLASS_TEMPLATE = "any(" + TemplatePlaceholders.any("java.lang.Class") + ")";
+
     private final JavaVisitor<ExecutionContext> visitor;
     private final ExecutionContext ctx;
     private final J.Block expectationsBlock;
@@ -203,7 +206,7 @@ class ArgumentMatchersRewriter {
         }
         // mockito uses any(Class) for all other types
         String argumentMatcher = "any";
-        template = argumentMatcher + "(#{any(java.lang.Class)})";
+        template = ANY_CLASS_TEMPLATE;
 
         if (type instanceof JavaType.FullyQualified) {
             templateParams.add(applyClassArgumentTemplate(methodArgument, (JavaType.FullyQualified) type));
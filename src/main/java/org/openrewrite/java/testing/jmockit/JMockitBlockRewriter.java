@@ -24,6 +24,7 @@ import org.openrewrite.ExecutionContext;
 import org.openrewrite.java.JavaParser;
 import org.openrewrite.java.JavaTemplate;
 import org.openrewrite.java.JavaVisitor;
+import org.openrewrite.java.testing.internal.TemplatePlaceholders;
 import org.openrewrite.java.tree.*;
 
 import java.util.ArrayList;
@@ -46,7 +47,7 @@ class JMockitBlockRewriter {
     private static final String MOCKITO_IMPORT_FQN_PREFX = "org.mockito.Mockito";
 
     private static String getObjectTemplateField(String fqn) {
-        return "#{any(" + fqn + ")}";
+        return TemplatePlaceholders.any(fqn);
     }
 
     private final JavaVisitor<ExecutionContext> visitor;
@@ -415,30 +416,7 @@ class JMockitBlockRewriter {
     }
 
     private static @Nullable String getPrimitiveTemplateField(JavaType.Primitive primitiveType) {
-        switch (primitiveType) {
-            case Boolean:
-                return "#{any(boolean)}";
-            case Byte:
-                return "#{any(byte)}";
-            case Char:
-                return "#{any(char)}";
-            case Double:
-                return "#{any(double)}";
-            case Float:
-                return "#{any(float)}";
-            case Int:
-                return "#{any(int)}";
-            case Long:
-                return "#{any(long)}";
-            case Short:
-                return "#{any(short)}";
-            case String:
-                return "#{any(String)}";
-            case Null:
-                return "#{any()}";
-            default:
-                return null;
-        }
+        return TemplatePlaceholders.any(primitiveType);
     }
 
     @Data
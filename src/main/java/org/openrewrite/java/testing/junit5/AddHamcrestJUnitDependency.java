@@ -15,18 +15,36 @@
  */
 package org.openrewrite.java.testing.junit5;
 
-import org.openrewrite.ExecutionContext;
-import org.openrewrite.ScanningRecipe;
-import org.openrewrite.Tree;
-import org.openrewrite.TreeVisitor;
-import org.openrewrite.java.MethodMatcher;
+import org.jspecify.annotations.Nullable;
+import org.openrewrite.*;
+import org.openrewrite.gradle.marker.GradleProject;
 import org.openrewrite.java.dependencies.AddDependency;
+import org.openrewrite.java.testing.internal.ScanFacts;
 import org.openrewrite.java.tree.JavaSourceFile;
-import org.openrewrite.java.tree.JavaType;
+import org.openrewrite.marker.Markers;
+import org.openrewrite.maven.tree.MavenResolutionResult;
 
-import java.util.concurrent.atomic.AtomicBoolean;
+import java.io.Serializable;
+import java.util.Optional;
 
-public class AddHamcrestJUnitDependency extends ScanningRecipe<AtomicBoolean> {
+public class AddHamcrestJUnitDependency extends ScanningRecipe<AddHamcrestJUnitDependency.Accumulator> {
+
+    private static final AddDependency ADD_HAMCREST_JUNIT_DEPENDENCY = new AddDependency(
+            "org.hamcrest",
+            "hamcrest-junit",
+            "2.x",
+            null,
+            null,
+            null,
+            null,
+            null,
+            null,
+            "test",
+            null,
+            null,
+            null,
+            true
+    );
 
     @Override
     public String getDisplayName() {
@@ -39,24 +57,20 @@ public class AddHamcrestJUnitDependency extends ScanningRecipe<AtomicBoolean> {
     }
 
     @Override
-    public AtomicBoolean getInitialValue(ExecutionContext ctx) {
-        return new AtomicBoolean(false);
+    public Accumulator getInitialValue(ExecutionContext ctx) {
+        return new Accumulator();
     }
 
     @Override
-    public TreeVisitor<?, ExecutionContext> getScanner(AtomicBoolean acc) {
+    public TreeVisitor<?, ExecutionContext> getScanner(Accumulator acc) {
         // No need to scan for AddDependency, as we'll unconditionally add the dependency if we find a match below
-        MethodMatcher methodMatcher = new MethodMatcher("org.junit.Ass* *That(..)");
         return new TreeVisitor<Tree, ExecutionContext>() {
             @Override
             public Tree preVisit(Tree tree, ExecutionContext ctx) {
                 stopAfterPreVisit();
-                if (tree instanceof JavaSourceFile && !acc.get()) {
-                    for (JavaType.Method type : ((JavaSourceFile) tree).getTypesInUse().getUsedMethods()) {
-                        if (methodMatcher.matches(type)) {
-                            acc.set(true);
-                        }
-                    }
+                if (tree instanceof JavaSourceFile && !acc.usingAssertThat &&
+                    ScanFacts.of((JavaSourceFile) tree, ctx).isUsingJUnit4AssertThat()) {
+                    acc.usingAssertThat = true;
                 }
                 return tree;
             }
@@ -64,26 +78,45 @@ public class AddHamcrestJUnitDependency extends ScanningRecipe<AtomicBoolean> {
     }
 
     @Override
-    public TreeVisitor<?, ExecutionContext> getVisitor(AtomicBoolean acc) {
-        if (acc.get()) {
-            // We can unconditionally add the dependency here
-            return new AddDependency(
-                    "org.hamcrest",
-                    "hamcrest-junit",
-                    "2.x",
-                    null,
-                    null,
-                    null,
-                    null,
-                    null,
-                    null,
-                    "test",
-                    null,
-                    null,
-                    null,
-                    true
-            ).getVisitor();
+    public TreeVisitor<?, ExecutionContext> getVisitor(Accumulator acc) {
+        if (!acc.usingAssertThat) {
+            return TreeVisitor.noop();
+        }
+        // We can unconditionally add the dependency here, skipping projects that already resolve it
+        TreeVisitor<?, ExecutionContext> addDependency = ADD_HAMCREST_JUNIT_DEPENDENCY.getVisitor();
+        ResolvedTestDependency hamcrestJUnit = new ResolvedTestDependency("org.hamcrest", "hamcrest-junit");
+        return new TreeVisitor<Tree, ExecutionContext>() {
+            @Override
+            public @Nullable Tree visit(@Nullable Tree tree, ExecutionContext ctx, Cursor parent) {
+                if (tree instanceof SourceFile) {
+                    Markers markers = tree.getMarkers();
+                    Optional<GradleProject> gp = markers.findFirst(GradleProject.class);
+                    if (gp.isPresent() && hamcrestJUnit.isResolved(gp.get())) {
+                        return tree;
+                    }
+                    Optional<MavenResolutionResult> mrr = markers.findFirst(MavenResolutionResult.class);
+                    if (mrr.isPresent() && hamcrestJUnit.isResolved(mrr.get())) {
+                        return tree;
+                    }
+                }
+                return addDependency.visit(tree, ctx, parent);
+            }
+        };
+    }
+
+    /**
+     * Serializable, and {@linkplain #merge(Accumulator) mergeable} with the scan result of other source files, so that
+     * the scan can be split up.
+     */
+    public static class Accumulator implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        boolean usingAssertThat;
+
+        public Accumulator merge(Accumulator other) {
+            Accumulator merged = new Accumulator();
+            merged.usingAssertThat = usingAssertThat || other.usingAssertThat;
+            return merged;
         }
-        return TreeVisitor.noop();
     }
 }
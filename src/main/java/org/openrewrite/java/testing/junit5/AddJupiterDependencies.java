@@ -19,16 +19,13 @@ import lombok.EqualsAndHashCode;
 import lombok.Value;
 import org.jspecify.annotations.Nullable;
 import org.openrewrite.*;
-import org.openrewrite.gradle.marker.GradleDependencyConfiguration;
 import org.openrewrite.gradle.marker.GradleProject;
 import org.openrewrite.groovy.GroovyIsoVisitor;
 import org.openrewrite.groovy.tree.G;
 import org.openrewrite.java.dependencies.AddDependency;
 import org.openrewrite.maven.MavenIsoVisitor;
-import org.openrewrite.maven.tree.ResolvedDependency;
 import org.openrewrite.xml.tree.Xml;
 
-import java.util.List;
 import java.util.Optional;
 
 @Value
@@ -46,20 +43,26 @@ public class AddJupiterDependencies extends ScanningRecipe<AddDependency.Accumul
                "This adds \"junit-jupiter\" dependency unless \"junit-jupiter-api\" or \"junit-jupiter-engine\" are already present.";
     }
 
+    private static final AddDependency ADD_JUPITER_DEPENDENCY = new AddDependency("org.junit.jupiter", "junit-jupiter", "5.x", null,
+            "org.junit..*", null, null, null, null, null,
+            null, null, null, null);
+
     @Override
     public AddDependency.Accumulator getInitialValue(ExecutionContext ctx) {
-        return addJupiterDependency().getInitialValue(ctx);
+        return ADD_JUPITER_DEPENDENCY.getInitialValue(ctx);
     }
 
     @Override
     public TreeVisitor<?, ExecutionContext> getScanner(AddDependency.Accumulator acc) {
-        return addJupiterDependency().getScanner(acc);
+        return ADD_JUPITER_DEPENDENCY.getScanner(acc);
     }
 
     @Override
     public TreeVisitor<?, ExecutionContext> getVisitor(AddDependency.Accumulator acc) {
-        AddJupiterGradle gv = new AddJupiterGradle(acc);
-        AddJupiterMaven mv = new AddJupiterMaven(acc);
+        TreeVisitor<?, ExecutionContext> addDependency = ADD_JUPITER_DEPENDENCY.getVisitor(acc);
+        ResolvedTestDependency jupiterApi = new ResolvedTestDependency("org.junit.jupiter", "junit-jupiter-api");
+        AddJupiterGradle gv = new AddJupiterGradle(addDependency, jupiterApi);
+        AddJupiterMaven mv = new AddJupiterMaven(addDependency, jupiterApi);
         return new TreeVisitor<Tree, ExecutionContext>() {
             @Override
             public @Nullable Tree visit(@Nullable Tree tree, ExecutionContext ctx, Cursor parent) {
@@ -78,16 +81,11 @@ public class AddJupiterDependencies extends ScanningRecipe<AddDependency.Accumul
         };
     }
 
-    private static AddDependency addJupiterDependency() {
-        return new AddDependency("org.junit.jupiter", "junit-jupiter", "5.x", null,
-                "org.junit..*", null, null, null, null, null,
-                null, null, null, null);
-    }
-
     @Value
     @EqualsAndHashCode(callSuper = false)
     private static class AddJupiterGradle extends GroovyIsoVisitor<ExecutionContext> {
-        AddDependency.Accumulator acc;
+        TreeVisitor<?, ExecutionContext> addDependency;
+        ResolvedTestDependency jupiterApi;
 
         @Override
         public G.CompilationUnit visitCompilationUnit(G.CompilationUnit t, ExecutionContext ctx) {
@@ -95,15 +93,8 @@ public class AddJupiterDependencies extends ScanningRecipe<AddDependency.Accumul
             if (!maybeGp.isPresent()) {
                 return t;
             }
-            GradleProject gp = maybeGp.get();
-            GradleDependencyConfiguration trc = gp.getConfiguration("testRuntimeClasspath");
-            if (trc == null) {
-                return t;
-            }
-            ResolvedDependency jupiterApi = trc.findResolvedDependency("org.junit.jupiter", "junit-jupiter-api");
-            if (jupiterApi == null) {
-                t = (G.CompilationUnit) addJupiterDependency().getVisitor(acc)
-                        .visitNonNull(t, ctx);
+            if (!jupiterApi.isResolved(maybeGp.get())) {
+                t = (G.CompilationUnit) addDependency.visitNonNull(t, ctx);
             }
 
             return t;
@@ -113,15 +104,14 @@ public class AddJupiterDependencies extends ScanningRecipe<AddDependency.Accumul
     @Value
     @EqualsAndHashCode(callSuper = false)
     private static class AddJupiterMaven extends MavenIsoVisitor<ExecutionContext> {
-        AddDependency.Accumulator acc;
+        TreeVisitor<?, ExecutionContext> addDependency;
+        ResolvedTestDependency jupiterApi;
 
         @Override
         public Xml.Document visitDocument(Xml.Document document, ExecutionContext ctx) {
             Xml.Document d = document;
-            List<ResolvedDependency> jupiterApi = getResolutionResult().findDependencies("org.junit.jupiter", "junit-jupiter-api", null);
-            if (jupiterApi.isEmpty()) {
-                d = (Xml.Document) addJupiterDependency().getVisitor(acc)
-                        .visitNonNull(d, ctx);
+            if (!jupiterApi.isResolved(getResolutionResult())) {
+                d = (Xml.Document) addDependency.visitNonNull(d, ctx);
             }
             return d;
         }
@@ -17,16 +17,19 @@ package org.openrewrite.java.testing.junit5;
 
 import lombok.EqualsAndHashCode;
 import lombok.Value;
+import org.jspecify.annotations.Nullable;
+import org.openrewrite.Cursor;
 import org.openrewrite.ExecutionContext;
 import org.openrewrite.Preconditions;
 import org.openrewrite.Recipe;
 import org.openrewrite.TreeVisitor;
+import org.openrewrite.internal.ListUtils;
 import org.openrewrite.java.JavaIsoVisitor;
 import org.openrewrite.java.JavaParser;
 import org.openrewrite.java.JavaTemplate;
-import org.openrewrite.java.search.FindAnnotations;
 import org.openrewrite.java.search.UsesType;
 import org.openrewrite.java.tree.J;
+import org.openrewrite.java.tree.JavaType;
 import org.openrewrite.java.tree.TypeUtils;
 
 import java.time.Duration;
@@ -36,12 +39,12 @@ import java.util.*;
 @EqualsAndHashCode(callSuper = false)
 public class AddMissingNested extends Recipe {
     private static final String NESTED = "org.junit.jupiter.api.Nested";
-    private static final List<String> TEST_ANNOTATIONS = Arrays.asList(
+    private static final Set<String> TEST_ANNOTATIONS = new HashSet<>(Arrays.asList(
             "org.junit.jupiter.api.Test",
             "org.junit.jupiter.api.TestTemplate",
             "org.junit.jupiter.api.RepeatedTest",
             "org.junit.jupiter.params.ParameterizedTest",
-            "org.junit.jupiter.api.TestFactory");
+            "org.junit.jupiter.api.TestFactory"));
 
     @SuppressWarnings("unchecked")
     private static final TreeVisitor<?, ExecutionContext> PRECONDITION =
@@ -69,38 +72,63 @@ public class AddMissingNested extends Recipe {
 
     @Override
     public TreeVisitor<?, ExecutionContext> getVisitor() {
-        return Preconditions.check(PRECONDITION, new JavaIsoVisitor<ExecutionContext>() {
-            @Override
-            public J.ClassDeclaration visitClassDeclaration(J.ClassDeclaration classDecl, ExecutionContext ctx) {
-                J.ClassDeclaration cd = super.visitClassDeclaration(classDecl, ctx);
-                cd = cd.withBody((J.Block) new AddNestedAnnotationVisitor().visitNonNull(cd.getBody(), ctx, updateCursor(cd)));
-                maybeAddImport(NESTED);
-                return cd;
-            }
-        });
+        return Preconditions.check(PRECONDITION, new AddNestedAnnotationVisitor());
     }
 
+    /**
+     * Adds {@code @Nested} to every class declared inside another class that contains a test annotation.
+     * Whether a class contains a test annotation is computed bottom-up in a single traversal: test annotations mark
+     * their nearest enclosing class, and every class passes that on to its own enclosing class.
+     */
     public static class AddNestedAnnotationVisitor extends JavaIsoVisitor<ExecutionContext> {
+        private static final String CONTAINS_TEST = "containsTest";
+
+        @Nullable
+        private JavaTemplate nestedTemplate;
+
+        private JavaTemplate nestedTemplate(ExecutionContext ctx) {
+            if (nestedTemplate == null) {
+                nestedTemplate = JavaTemplate.builder("@Nested")
+                        .javaParser(JavaParser.fromJavaVersion()
+                                .classpathFromResources(ctx, "junit-jupiter-api-5.9"))
+                        .imports(NESTED)
+                        .build();
+            }
+            return nestedTemplate;
+        }
+
+        @Override
+        public J.Annotation visitAnnotation(J.Annotation annotation, ExecutionContext ctx) {
+            JavaType.FullyQualified type = TypeUtils.asFullyQualified(annotation.getType());
+            if (type != null && TEST_ANNOTATIONS.contains(type.getFullyQualifiedName())) {
+                getCursor().putMessageOnFirstEnclosing(J.ClassDeclaration.class, CONTAINS_TEST, true);
+            }
+            return super.visitAnnotation(annotation, ctx);
+        }
+
         @Override
         public J.ClassDeclaration visitClassDeclaration(J.ClassDeclaration classDecl, ExecutionContext ctx) {
             J.ClassDeclaration cd = super.visitClassDeclaration(classDecl, ctx);
+            if (!getCursor().getMessage(CONTAINS_TEST, false)) {
+                return cd;
+            }
+            Cursor parent = getCursor().getParentOrThrow();
+            if (parent.firstEnclosing(J.ClassDeclaration.class) == null) {
+                return cd;
+            }
+            parent.putMessageOnFirstEnclosing(J.ClassDeclaration.class, CONTAINS_TEST, true);
+
             boolean alreadyNested = classDecl.getLeadingAnnotations().stream()
                     .anyMatch(a -> TypeUtils.isOfClassType(a.getType(), NESTED));
-            if (!alreadyNested && hasTestMethods(cd)) {
-                cd = JavaTemplate.builder("@Nested")
-                        .javaParser(JavaParser.fromJavaVersion()
-                                .classpathFromResources(ctx, "junit-jupiter-api-5.9"))
-                        .imports(NESTED)
-                        .build()
-                        .apply(getCursor(), cd.getCoordinates().addAnnotation(Comparator.comparing(J.Annotation::getSimpleName)));
-                cd.getModifiers().removeIf(modifier -> modifier.getType().equals(J.Modifier.Type.Static));
+            if (!alreadyNested) {
+                cd = nestedTemplate(ctx)
+                        .apply(updateCursor(cd), cd.getCoordinates().addAnnotation(Comparator.comparing(J.Annotation::getSimpleName)));
+                cd = cd.withModifiers(ListUtils.map(cd.getModifiers(),
+                        modifier -> modifier.getType() == J.Modifier.Type.Static ? null : modifier));
+                maybeAddImport(NESTED);
                 return maybeAutoFormat(classDecl, cd, ctx);
             }
             return cd;
         }
-
-        private static boolean hasTestMethods(final J.ClassDeclaration cd) {
-            return TEST_ANNOTATIONS.stream().anyMatch(ann -> !FindAnnotations.find(cd, "@" + ann).isEmpty());
-        }
     }
 }
@@ -21,19 +21,19 @@ import org.openrewrite.ExecutionContext;
 import org.openrewrite.Preconditions;
 import org.openrewrite.Recipe;
 import org.openrewrite.TreeVisitor;
-import org.openrewrite.java.AnnotationMatcher;
 import org.openrewrite.java.JavaIsoVisitor;
 import org.openrewrite.java.JavaParser;
 import org.openrewrite.java.JavaTemplate;
+import org.openrewrite.java.testing.internal.JUnit5Annotations;
+import org.openrewrite.java.testing.internal.JUnit5Annotations.MethodRoles;
+import org.openrewrite.java.testing.internal.JUnit5Annotations.Role;
 import org.openrewrite.java.tree.J;
-import org.openrewrite.java.tree.JavaType.FullyQualified;
 import org.openrewrite.java.tree.JavaType.Method;
 import org.openrewrite.java.tree.TypeUtils;
 import org.openrewrite.marker.SearchResult;
 
 import java.util.Comparator;
 import java.util.Optional;
-import java.util.function.Predicate;
 
 @Value
 @EqualsAndHashCode(callSuper = false)
@@ -69,9 +69,10 @@ public class AddMissingTestBeforeAfterAnnotations extends Recipe {
                 Method currMethod = method.getMethodType();
                 Optional<Method> superMethod = TypeUtils.findOverriddenMethod(currMethod);
                 while (superMethod.isPresent()) {
-                    method = maybeAddMissingAnnotation(method, superMethod.get(), LifecyleAnnotation.BEFORE_EACH, ctx);
-                    method = maybeAddMissingAnnotation(method, superMethod.get(), LifecyleAnnotation.AFTER_EACH, ctx);
-                    method = maybeAddMissingAnnotation(method, superMethod.get(), LifecyleAnnotation.TEST, ctx);
+                    MethodRoles superRoles = JUnit5Annotations.of(superMethod.get(), true);
+                    method = maybeAddMissingAnnotation(method, superRoles, Role.BEFORE_EACH, ctx);
+                    method = maybeAddMissingAnnotation(method, superRoles, Role.AFTER_EACH, ctx);
+                    method = maybeAddMissingAnnotation(method, superRoles, Role.TEST, ctx);
                     currMethod = superMethod.get();
                     superMethod = TypeUtils.findOverriddenMethod(currMethod);
                 }
@@ -79,41 +80,17 @@ public class AddMissingTestBeforeAfterAnnotations extends Recipe {
             return super.visitMethodDeclaration(method, ctx);
         }
 
-        private J.MethodDeclaration maybeAddMissingAnnotation(J.MethodDeclaration method, Method superMethod, LifecyleAnnotation la, ExecutionContext ctx) {
-            if (la.needsAnnotation(method, superMethod)) {
-                maybeAddImport(la.newAnnotation);
-                return JavaTemplate.builder(la.newAnnotationSimple)
+        private J.MethodDeclaration maybeAddMissingAnnotation(J.MethodDeclaration method, MethodRoles superRoles, Role role, ExecutionContext ctx) {
+            if (superRoles.has(role) && !JUnit5Annotations.of(method).has(role)) {
+                String annotation = role.getAnnotation();
+                maybeAddImport(annotation);
+                return JavaTemplate.builder("@" + annotation.substring(annotation.lastIndexOf('.') + 1))
                         .javaParser(JavaParser.fromJavaVersion().classpathFromResources(ctx, "junit-jupiter-api-5.9"))
-                        .imports(la.newAnnotation)
+                        .imports(annotation)
                         .build()
                         .apply(getCursor(), method.getCoordinates().addAnnotation(Comparator.comparing(J.Annotation::getSimpleName)));
             }
             return method;
         }
     }
-
-    enum LifecyleAnnotation {
-        BEFORE_EACH("org.junit.Before", "org.junit.jupiter.api.BeforeEach"),
-        AFTER_EACH("org.junit.After", "org.junit.jupiter.api.AfterEach"),
-        TEST("org.junit.Test", "org.junit.jupiter.api.Test");
-
-        String newAnnotation;
-        String newAnnotationSimple;
-        private AnnotationMatcher newAnnotationMatcher;
-        private Predicate<FullyQualified> newAnnotationPredicate;
-        private Predicate<FullyQualified> oldAnnotationPredicate;
-
-        LifecyleAnnotation(String oldAnnotation, String newAnnotation) {
-            this.newAnnotation = newAnnotation;
-            this.newAnnotationSimple = "@" + newAnnotation.substring(newAnnotation.lastIndexOf(".") + 1);
-            this.newAnnotationMatcher = new AnnotationMatcher("@" + newAnnotation);
-            this.newAnnotationPredicate = n -> TypeUtils.isOfClassType(n, newAnnotation);
-            this.oldAnnotationPredicate = n -> TypeUtils.isOfClassType(n, oldAnnotation);
-        }
-
-        boolean needsAnnotation(J.MethodDeclaration method, Method superMethod) {
-            boolean superMethodHasAnnotation = superMethod.getAnnotations().stream().anyMatch(oldAnnotationPredicate.or(newAnnotationPredicate));
-            return superMethodHasAnnotation && !method.getAllAnnotations().stream().anyMatch(newAnnotationMatcher::matches);
-        }
-    }
 }
@@ -37,6 +37,7 @@ public class ParameterizedRunnerToParameterized extends Recipe {
     private static final AnnotationMatcher PARAMETER = new AnnotationMatcher("@org.junit.runners.Parameterized$Parameter");
     private static final AnnotationMatcher PARAMETERIZED_TEST = new AnnotationMatcher("@org.junit.jupiter.params.ParameterizedTest");
 
+    private static final String PARAMETERIZED_CLASS = "parameterized-class";
     private static final String PARAMETERS_ANNOTATION_ARGUMENTS = "parameters-annotation-args";
     private static final String CONSTRUCTOR_ARGUMENTS = "constructor-args";
     private static final String FIELD_INJECTION_ARGUMENTS = "field-injection-args";
@@ -58,11 +59,21 @@ public class ParameterizedRunnerToParameterized extends Recipe {
     }
 
     private static class ParameterizedRunnerVisitor extends JavaIsoVisitor<ExecutionContext> {
+        @Nullable
+        private ParameterizedTemplates templates;
+
+        private ParameterizedTemplates templates(ExecutionContext ctx) {
+            if (templates == null) {
+                templates = new ParameterizedTemplates(ctx);
+            }
+            return templates;
+        }
+
         @SuppressWarnings("unchecked")
         @Override
         public J.ClassDeclaration visitClassDeclaration(J.ClassDeclaration classDecl, ExecutionContext ctx) {
             J.ClassDeclaration cd = super.visitClassDeclaration(classDecl, ctx);
-            Map<String, Object> params = getCursor().pollMessage(classDecl.getId().toString());
+            Map<String, Object> params = getCursor().pollMessage(PARAMETERIZED_CLASS);
             if (params != null) {
                 String parametersMethodName = (String) params.get(PARAMETERS_METHOD_NAME);
                 List<Expression> parametersAnnotationArguments = (List<Expression>) params.get(PARAMETERS_ANNOTATION_ARGUMENTS);
@@ -72,13 +83,13 @@ public class ParameterizedRunnerToParameterized extends Recipe {
 
                 // Constructor Injected Test
                 if (parametersMethodName != null && constructorParams != null && constructorParams.stream().anyMatch(org.openrewrite.java.tree.J.VariableDeclarations.class::isInstance)) {
-                    doAfterVisit(new ParameterizedRunnerToParameterizedTestsVisitor(classDecl, parametersMethodName, initMethodName, parametersAnnotationArguments, constructorParams, true, ctx));
+                    doAfterVisit(new ParameterizedRunnerToParameterizedTestsVisitor(classDecl, parametersMethodName, initMethodName, parametersAnnotationArguments, constructorParams, true, templates(ctx)));
                 }
 
                 // Field Injected Test
                 else if (parametersMethodName != null && fieldInjectionParams != null) {
                     List<Statement> fieldParams = new ArrayList<>(fieldInjectionParams.values());
-                    doAfterVisit(new ParameterizedRunnerToParameterizedTestsVisitor(classDecl, parametersMethodName, initMethodName, parametersAnnotationArguments, fieldParams, false, ctx));
+                    doAfterVisit(new ParameterizedRunnerToParameterizedTestsVisitor(classDecl, parametersMethodName, initMethodName, parametersAnnotationArguments, fieldParams, false, templates(ctx)));
                 }
             }
             return cd;
@@ -89,12 +100,12 @@ public class ParameterizedRunnerToParameterized extends Recipe {
             J.MethodDeclaration m = super.visitMethodDeclaration(method, ctx);
             Cursor classDeclCursor = getCursor().dropParentUntil(J.ClassDeclaration.class::isInstance);
             if (m.isConstructor()) {
-                Map<String, Object> params = classDeclCursor.computeMessageIfAbsent(((J.ClassDeclaration) classDeclCursor.getValue()).getId().toString(), v -> new HashMap<>());
+                Map<String, Object> params = classDeclCursor.computeMessageIfAbsent(PARAMETERIZED_CLASS, v -> new HashMap<>());
                 params.put(CONSTRUCTOR_ARGUMENTS, m.getParameters());
             }
             for (J.Annotation annotation : m.getLeadingAnnotations()) {
                 if (PARAMETERS.matches(annotation)) {
-                    Map<String, Object> params = classDeclCursor.computeMessageIfAbsent(((J.ClassDeclaration) classDeclCursor.getValue()).getId().toString(), v -> new HashMap<>());
+                    Map<String, Object> params = classDeclCursor.computeMessageIfAbsent(PARAMETERIZED_CLASS, v -> new HashMap<>());
                     params.put(PARAMETERS_ANNOTATION_ARGUMENTS, annotation.getArguments());
                     params.put(PARAMETERS_METHOD_NAME, method.getSimpleName());
                     break;
@@ -130,13 +141,57 @@ public class ParameterizedRunnerToParameterized extends Recipe {
                 if (variableForInitMethod.getTypeExpression() != null) {
                     variableForInitMethod = variableForInitMethod.withTypeExpression(variableForInitMethod.getTypeExpression().withPrefix(Space.EMPTY).withComments(new ArrayList<>()));
                 }
-                Map<String, TreeMap<Integer, Statement>> params = classDeclCursor.computeMessageIfAbsent(((J.ClassDeclaration) classDeclCursor.getValue()).getId().toString(), v -> new HashMap<>());
+                Map<String, TreeMap<Integer, Statement>> params = classDeclCursor.computeMessageIfAbsent(PARAMETERIZED_CLASS, v -> new HashMap<>());
                 params.computeIfAbsent(FIELD_INJECTION_ARGUMENTS, v -> new TreeMap<>()).put(position, variableForInitMethod);
             }
             return variableDeclarations;
         }
     }
 
+    /**
+     * Templates shared by all parameterized classes converted in a run; class specific names are passed on apply.
+     */
+    private static class ParameterizedTemplates {
+        private final JavaTemplate parameterizedTest;
+        private final JavaTemplate parameterizedTestWithArguments;
+        private final JavaTemplate methodSource;
+        private final JavaTemplate initMethodStatement;
+        private final JavaTemplate initMethodDeclaration;
+
+        ParameterizedTemplates(ExecutionContext ctx) {
+            JavaParser.Builder<?, ?> javaParserBuilder = JavaParser.fromJavaVersion()
+                    .classpathFromResources(ctx, "junit-jupiter-api-5.9", "junit-jupiter-params-5.9");
+
+            // build @ParameterizedTest(#{}) templates
+            this.parameterizedTest = JavaTemplate.builder("@ParameterizedTest")
+                    .javaParser(javaParserBuilder)
+                    .imports("org.junit.jupiter.params.ParameterizedTest")
+                    .build();
+            this.parameterizedTestWithArguments = JavaTemplate.builder("@ParameterizedTest(#{any()})")
+                    .javaParser(javaParserBuilder)
+                    .imports("org.junit.jupiter.params.ParameterizedTest")
+                    .build();
+
+            // build @MethodSource("...") template
+            this.methodSource = JavaTemplate.builder("@MethodSource(#{})")
+                    .javaParser(javaParserBuilder)
+                    .imports("org.junit.jupiter.params.provider.MethodSource")
+                    .build();
+
+            // build init-method with parameters template
+            this.initMethodStatement = JavaTemplate.builder("#{}(#{});")
+                    .contextSensitive()
+                    .javaParser(javaParserBuilder)
+                    .build();
+
+            // build a new init-method for tests that are not constructor injected
+            this.initMethodDeclaration = JavaTemplate.builder("public void #{}() {\n#{}}")
+                    .contextSensitive()
+                    .javaParser(javaParserBuilder)
+                    .build();
+        }
+    }
+
     private static class ParameterizedRunnerToParameterizedTestsVisitor extends JavaIsoVisitor<ExecutionContext> {
 
         private final J.ClassDeclaration scope;
@@ -148,12 +203,16 @@ public class ParameterizedRunnerToParameterized extends Recipe {
 
         private final String initStatementParamString;
 
-        private final JavaTemplate parameterizedTestTemplate;
-        private final JavaTemplate methodSourceTemplate;
-        private final JavaTemplate initMethodStatementTemplate;
+        private final String methodSourceArgument;
 
+        /**
+         * The body of a new init-method, or {@code null} for constructor injected tests whose constructor becomes the
+         * init-method.
+         */
         @Nullable
-        private final JavaTemplate initMethodDeclarationTemplate;
+        private final String initMethodBody;
+
+        private final ParameterizedTemplates templates;
 
         public ParameterizedRunnerToParameterizedTestsVisitor(J.ClassDeclaration scope,
                                                               String parametersMethodName,
@@ -161,9 +220,10 @@ public class ParameterizedRunnerToParameterized extends Recipe {
                                                               @Nullable List<Expression> parameterizedTestAnnotationParameters,
                                                               List<Statement> parameterizedTestMethodParameters,
                                                               boolean isConstructorInjection,
-                                                              ExecutionContext ctx) {
+                                                              ParameterizedTemplates templates) {
             this.scope = scope;
             this.initMethodName = initMethodName;
+            this.templates = templates;
 
             this.parameterizedTestMethodParameters = parameterizedTestMethodParameters.stream()
                     .map(mp -> mp.withPrefix(Space.EMPTY).withComments(new ArrayList<>()))
@@ -176,56 +236,24 @@ public class ParameterizedRunnerToParameterized extends Recipe {
                     .map(v -> v.getVariables().get(0).getSimpleName())
                     .collect(Collectors.joining(", "));
 
-            // build @ParameterizedTest(#{}) template
             this.parameterizedTestAnnotationParameters = parameterizedTestAnnotationParameters;
-            String parameterizedTestAnnotationTemplate = parameterizedTestAnnotationParameters != null ?
-                    "@ParameterizedTest(#{any()})" :
-                    "@ParameterizedTest";
-
-            JavaParser.Builder<?, ?> javaParserBuilder = JavaParser.fromJavaVersion()
-                    .classpathFromResources(ctx, "junit-jupiter-api-5.9", "junit-jupiter-params-5.9");
-
-            this.parameterizedTestTemplate = JavaTemplate.builder(parameterizedTestAnnotationTemplate)
-                    .javaParser(javaParserBuilder)
-                    .imports("org.junit.jupiter.params.ParameterizedTest")
-                    .build();
+            this.methodSourceArgument = "\"" + parametersMethodName + "\"";
 
-            // build @MethodSource("...") template
-            this.methodSourceTemplate = JavaTemplate.builder("@MethodSource(\"" + parametersMethodName + "\")")
-                    .javaParser(javaParserBuilder)
-                    .imports("org.junit.jupiter.params.provider.MethodSource")
-                    .build();
-
-            // build init-method with parameters template
-            this.initMethodStatementTemplate = JavaTemplate.builder(initMethodName + "(#{});")
-                    .contextSensitive()
-                    .javaParser(javaParserBuilder)
-                    .build();
-
-            // If this is not a constructor injected test then build a javaTemplate for a new init-method
+            // If this is not a constructor injected test then build the body of a new init-method
             if (!isConstructorInjection) {
-                final StringBuilder initMethodTemplate = new StringBuilder("public void ").append(initMethodName).append("() {\n");
-                final List<String> initStatementParams = new ArrayList<>();
+                StringBuilder initMethodBody = new StringBuilder();
                 for (Statement parameterizedTestMethodParameter : parameterizedTestMethodParameters) {
                     J.VariableDeclarations vd = (J.VariableDeclarations) parameterizedTestMethodParameter;
                     if (vd.getTypeExpression() != null && vd.getVariables().size() == 1) {
-                        initStatementParams.add(vd.getVariables().get(0).getSimpleName());
+                        String p = vd.getVariables().get(0).getSimpleName();
+                        initMethodBody.append("    this.").append(p).append(" = ").append(p).append(";\n");
                     } else {
                         throw new AssertionError("Expected VariableDeclarations with TypeExpression and single Variable, got [" + parameterizedTestMethodParameter + "]");
                     }
                 }
-
-                for (String p : initStatementParams) {
-                    initMethodTemplate.append("    this.").append(p).append(" = ").append(p).append(";\n");
-                }
-
-                initMethodTemplate.append("}");
-                this.initMethodDeclarationTemplate = JavaTemplate.builder(initMethodTemplate.toString())
-                        .contextSensitive()
-                        .javaParser(javaParserBuilder)
-                        .build();
+                this.initMethodBody = initMethodBody.toString();
             } else {
-                this.initMethodDeclarationTemplate = null;
+                this.initMethodBody = null;
             }
         }
 
@@ -257,8 +285,9 @@ public class ParameterizedRunnerToParameterized extends Recipe {
             }
 
 
-            if (initMethodDeclarationTemplate != null) {
-                cd = initMethodDeclarationTemplate.apply(updateCursor(cd), cd.getBody().getCoordinates().lastStatement());
+            if (initMethodBody != null) {
+                cd = templates.initMethodDeclaration.apply(updateCursor(cd), cd.getBody().getCoordinates().lastStatement(),
+                        initMethodName, initMethodBody);
                 J.Block finalBody = cd.getBody();
                 cd = cd.withBody(cd.getBody().withStatements(ListUtils.map(cd.getBody().getStatements(), stmt -> {
                     if (stmt instanceof J.MethodDeclaration) {
@@ -324,12 +353,12 @@ public class ParameterizedRunnerToParameterized extends Recipe {
                 if (JUPITER_TEST.matches(annotation) || JUNIT_TEST.matches(annotation)) {
                     List<Comment> annotationComments = annotation.getComments();
                     if (parameterizedTestAnnotationParameters == null) {
-                        annotation = parameterizedTestTemplate.apply(
+                        annotation = templates.parameterizedTest.apply(
                                 new Cursor(getCursor(), annotation),
                                 annotation.getCoordinates().replace()
                         );
                     } else {
-                        annotation = parameterizedTestTemplate.apply(
+                        annotation = templates.parameterizedTestWithArguments.apply(
                                 new Cursor(getCursor(), annotation),
                                 annotation.getCoordinates().replace(),
                                 parameterizedTestAnnotationParameters.get(0)
@@ -344,18 +373,19 @@ public class ParameterizedRunnerToParameterized extends Recipe {
 
             // Add @MethodSource, insert test init statement, add test method parameters
             if (m.getLeadingAnnotations().stream().anyMatch(PARAMETERIZED_TEST::matches)) {
-                m = methodSourceTemplate.apply(
+                m = templates.methodSource.apply(
                         updateCursor(m),
-                        m.getCoordinates().addAnnotation(Comparator.comparing(J.Annotation::getSimpleName))
+                        m.getCoordinates().addAnnotation(Comparator.comparing(J.Annotation::getSimpleName)),
+                        methodSourceArgument
                 );
                 assert m.getBody() != null;
                 JavaCoordinates newStatementCoordinates = !m.getBody().getStatements().isEmpty() ? m.getBody().getStatements().get(0).getCoordinates().before() : m.getBody().getCoordinates().lastStatement();
-                m = initMethodStatementTemplate.apply(updateCursor(m), newStatementCoordinates, initStatementParamString);
+                m = templates.initMethodStatement.apply(updateCursor(m), newStatementCoordinates, initMethodName, initStatementParamString);
                 m = maybeAutoFormat(m, m.withParameters(parameterizedTestMethodParameters), m.getName(), ctx, getCursor().getParentTreeCursor());
             }
 
             // Change constructor to test init method
-            if (initMethodDeclarationTemplate == null && m.isConstructor()) {
+            if (initMethodBody == null && m.isConstructor()) {
                 m = m.withName(m.getName().withSimpleName(initMethodName));
                 m = maybeAutoFormat(m, m.withReturnTypeExpression(new J.Primitive(randomId(), Space.EMPTY, Markers.EMPTY, JavaType.Primitive.Void)),
                         m.getName(), ctx, getCursor().getParentTreeCursor());
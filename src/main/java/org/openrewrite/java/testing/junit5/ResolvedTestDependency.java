@@ -0,0 +1,55 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.testing.junit5;
+
+import org.openrewrite.gradle.marker.GradleDependencyConfiguration;
+import org.openrewrite.gradle.marker.GradleProject;
+import org.openrewrite.maven.tree.MavenResolutionResult;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Remembers per Gradle or Maven project whether a dependency is already resolved, keyed by the id of the
+ * {@link GradleProject} or {@link MavenResolutionResult} marker, so that the resolution walk is done once per project
+ * rather than once per build file.
+ */
+class ResolvedTestDependency {
+    private final String groupId;
+    private final String artifactId;
+    private final Map<UUID, Boolean> resolvedByProject = new HashMap<>();
+
+    ResolvedTestDependency(String groupId, String artifactId) {
+        this.groupId = groupId;
+        this.artifactId = artifactId;
+    }
+
+    /**
+     * @return {@code true} when the project has no test runtime classpath, in which case there is nothing to add to.
+     */
+    boolean isResolved(GradleProject gp) {
+        return resolvedByProject.computeIfAbsent(gp.getId(), id -> {
+            GradleDependencyConfiguration trc = gp.getConfiguration("testRuntimeClasspath");
+            return trc == null || trc.findResolvedDependency(groupId, artifactId) != null;
+        });
+    }
+
+    boolean isResolved(MavenResolutionResult mrr) {
+        return resolvedByProject.computeIfAbsent(mrr.getId(),
+                id -> !mrr.findDependencies(groupId, artifactId, null).isEmpty());
+    }
+}
@@ -19,10 +19,13 @@ import org.jspecify.annotations.Nullable;
 import org.openrewrite.ExecutionContext;
 import org.openrewrite.Preconditions;
 import org.openrewrite.Recipe;
+import org.openrewrite.Tree;
 import org.openrewrite.TreeVisitor;
+import org.openrewrite.internal.ListUtils;
 import org.openrewrite.java.*;
 import org.openrewrite.java.search.UsesType;
 import org.openrewrite.java.tree.*;
+import org.openrewrite.marker.Markers;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -30,8 +33,13 @@ import java.util.Objects;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+import static java.util.Collections.emptyList;
+
 public class TemporaryFolderToTempDir extends Recipe {
 
+    private static final JavaType.FullyQualified FILE_TYPE = JavaType.ShallowClass.build("java.io.File");
+    private static final JavaType.FullyQualified TEMP_DIR_TYPE = JavaType.ShallowClass.build("org.junit.jupiter.api.io.TempDir");
+
     @Override
     public String getDisplayName() {
         return "Use JUnit Jupiter `@TempDir`";
@@ -61,13 +69,28 @@ public class TemporaryFolderToTempDir extends Recipe {
 
             }
 
+            /**
+             * Variable types of the rule fields that are converted to {@code @TempDir File} fields.
+             */
+            final List<JavaType.Variable> ruleFields = new ArrayList<>();
+
+            /**
+             * Whether the compilation unit references {@code TemporaryFolder} other than through a converted rule field,
+             * in which case a full {@link ChangeType} pass is still needed to retype those references.
+             */
+            boolean otherReferences;
+
             @Override
             public J visitCompilationUnit(J.CompilationUnit cu, ExecutionContext ctx) {
+                ruleFields.clear();
+                otherReferences = false;
                 J.CompilationUnit c = (J.CompilationUnit) super.visitCompilationUnit(cu, ctx);
                 if (c != cu) {
-                    c = (J.CompilationUnit) new ChangeType(
-                            "org.junit.rules.TemporaryFolder", "java.io.File", true).getVisitor()
-                            .visit(c, ctx);
+                    if (otherReferences) {
+                        c = (J.CompilationUnit) new ChangeType(
+                                "org.junit.rules.TemporaryFolder", "java.io.File", true).getVisitor()
+                                .visit(c, ctx);
+                    }
                     maybeAddImport("java.io.File");
                     maybeAddImport("org.junit.jupiter.api.io.TempDir");
                     maybeRemoveImport("org.junit.ClassRule");
@@ -77,29 +100,97 @@ public class TemporaryFolderToTempDir extends Recipe {
                 return c;
             }
 
+            @Override
+            public J visitImport(J.Import anImport, ExecutionContext ctx) {
+                return anImport;
+            }
+
+            @Override
+            public J visitClassDeclaration(J.ClassDeclaration classDecl, ExecutionContext ctx) {
+                // Record the rule fields up front, so that references preceding the field declaration are retyped too
+                for (Statement statement : classDecl.getBody().getStatements()) {
+                    if (statement instanceof J.VariableDeclarations && isRuleAnnotatedTemporaryFolder((J.VariableDeclarations) statement)) {
+                        for (J.VariableDeclarations.NamedVariable variable : ((J.VariableDeclarations) statement).getVariables()) {
+                            if (variable.getVariableType() != null) {
+                                ruleFields.add(variable.getVariableType());
+                            }
+                        }
+                    }
+                }
+                return super.visitClassDeclaration(classDecl, ctx);
+            }
+
+            @Override
+            public J visitIdentifier(J.Identifier ident, ExecutionContext ctx) {
+                J.Identifier i = (J.Identifier) super.visitIdentifier(ident, ctx);
+                if (TypeUtils.isOfClassType(i.getType(), "org.junit.rules.TemporaryFolder")) {
+                    if (isRuleField(i.getFieldType())) {
+                        i = i.withType(FILE_TYPE).withFieldType(i.getFieldType().withType(FILE_TYPE));
+                    } else {
+                        otherReferences = true;
+                    }
+                }
+                return i;
+            }
+
+            @Override
+            public J visitFieldAccess(J.FieldAccess fieldAccess, ExecutionContext ctx) {
+                J.FieldAccess fa = (J.FieldAccess) super.visitFieldAccess(fieldAccess, ctx);
+                if (TypeUtils.isOfClassType(fa.getType(), "org.junit.rules.TemporaryFolder") &&
+                    isRuleField(fa.getName().getFieldType())) {
+                    fa = fa.withType(FILE_TYPE);
+                }
+                return fa;
+            }
+
+            private boolean isConvertedRuleField(@Nullable Expression select) {
+                if (select instanceof J.FieldAccess) {
+                    select = ((J.FieldAccess) select).getName();
+                }
+                return select instanceof J.Identifier && isRuleField(((J.Identifier) select).getFieldType());
+            }
+
+            private boolean isRuleField(JavaType.@Nullable Variable fieldType) {
+                if (fieldType != null) {
+                    for (JavaType.Variable ruleField : ruleFields) {
+                        if (ruleField.getName().equals(fieldType.getName()) &&
+                            TypeUtils.isOfType(ruleField.getOwner(), fieldType.getOwner())) {
+                            return true;
+                        }
+                    }
+                }
+                return false;
+            }
+
             @Override
             public J visitVariableDeclarations(J.VariableDeclarations multiVariable, ExecutionContext ctx) {
-                J.VariableDeclarations mv = (J.VariableDeclarations) super.visitVariableDeclarations(multiVariable, ctx);
-                if (!isRuleAnnotatedTemporaryFolder(mv)) {
-                    return mv;
+                if (!isRuleAnnotatedTemporaryFolder(multiVariable)) {
+                    return super.visitVariableDeclarations(multiVariable, ctx);
                 }
-                String fieldVars = mv.getVariables().stream()
-                        .map(fv -> fv.withInitializer(null))
-                        .map(it -> it.print(getCursor()))
-                        .collect(Collectors.joining(","));
-                String modifiers = mv.getModifiers().stream().map(it -> it.getType().name().toLowerCase()).collect(Collectors.joining(" "));
-                mv = JavaTemplate.builder("@TempDir\n#{} File#{};")
-                        .contextSensitive()
-                        .imports("java.io.File", "org.junit.jupiter.api.io.TempDir")
-                        .javaParser(javaParser(ctx))
-                        .build()
-                        .apply(
-                                updateCursor(mv),
-                                mv.getCoordinates().replace(),
-                                modifiers,
-                                fieldVars
-                        );
-                return mv;
+                // Replace the first rule annotation with `@TempDir` in place, and drop any other rule annotation
+                boolean[] replaced = new boolean[1];
+                J.VariableDeclarations mv = multiVariable.withLeadingAnnotations(ListUtils.map(multiVariable.getLeadingAnnotations(), anno -> {
+                    if (!classRule.matches(anno) && !rule.matches(anno)) {
+                        return anno;
+                    }
+                    if (replaced[0]) {
+                        return null;
+                    }
+                    replaced[0] = true;
+                    return anno.withArguments(null).withAnnotationType(new J.Identifier(Tree.randomId(),
+                            anno.getAnnotationType().getPrefix(), Markers.EMPTY, emptyList(), "TempDir", TEMP_DIR_TYPE, null));
+                }));
+                TypeTree typeExpression = mv.getTypeExpression();
+                if (typeExpression != null) {
+                    mv = mv.withTypeExpression(new J.Identifier(Tree.randomId(),
+                            typeExpression.getPrefix(), Markers.EMPTY, emptyList(), "File", FILE_TYPE, null));
+                }
+                return mv.withVariables(ListUtils.map(mv.getVariables(), v -> {
+                    JavaType.Variable variableType = v.getVariableType() == null ? null : v.getVariableType().withType(FILE_TYPE);
+                    return v.withInitializer(null)
+                            .withName(v.getName().withType(FILE_TYPE).withFieldType(variableType))
+                            .withVariableType(variableType);
+                }));
             }
 
             private boolean isRuleAnnotatedTemporaryFolder(J.VariableDeclarations vd) {
@@ -125,6 +216,11 @@ public class TemporaryFolderToTempDir extends Recipe {
                         case "getRoot":
                             return mi.getSelect().withPrefix(mi.getPrefix());
                         default:
+                            if (isConvertedRuleField(mi.getSelect())) {
+                                // Calls left as they are on a converted field are now calls on `File`
+                                JavaType.Method methodType = mi.getMethodType().withDeclaringType(FILE_TYPE);
+                                return mi.withMethodType(methodType).withName(mi.getName().withType(methodType));
+                            }
                             return mi;
                     }
                 }
@@ -135,7 +231,7 @@ public class TemporaryFolderToTempDir extends Recipe {
                 if (mi.getSelect() == null) {
                     return mi;
                 }
-                J tempDir = mi.getSelect().withType(JavaType.ShallowClass.build("java.io.File"));
+                J tempDir = mi.getSelect().withType(FILE_TYPE);
                 List<Expression> args = mi.getArguments().stream().filter(arg -> !(arg instanceof J.Empty)).collect(Collectors.toList());
                 if (args.isEmpty()) {
                     return JavaTemplate.builder("File.createTempFile(\"junit\", null, #{any(java.io.File)})")
@@ -218,7 +314,6 @@ public class TemporaryFolderToTempDir extends Recipe {
                                 "    }\n" +
                                 "    return result;\n" +
                                 "}")
-                        .contextSensitive()
                         .imports("java.io.File", "java.io.IOException")
                         .javaParser(javaParser(ctx))
                         .build()
@@ -260,7 +355,7 @@ public class TemporaryFolderToTempDir extends Recipe {
                     return mi;
                 }
                 if (mi.getSelect() != null) {
-                    J tempDir = mi.getSelect().withType(JavaType.ShallowClass.build("java.io.File"));
+                    J tempDir = mi.getSelect().withType(FILE_TYPE);
                     List<Expression> args = mi.getArguments().stream().filter(arg -> !(arg instanceof J.Empty)).collect(Collectors.toList());
                     if (args.isEmpty()) {
                         mi = JavaTemplate.builder("newFolder(#{any(java.io.File)}, \"junit\")")
@@ -286,7 +381,6 @@ public class TemporaryFolderToTempDir extends Recipe {
                         List<Object> templateArgs = new ArrayList<>(args);
                         templateArgs.add(0, tempDir);
                         mi = JavaTemplate.builder(sb.toString())
-                                .contextSensitive()
                                 .imports("java.io.File")
                                 .javaParser(javaParser(ctx))
                                 .build()
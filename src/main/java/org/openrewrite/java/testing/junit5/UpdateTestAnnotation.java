@@ -30,7 +30,6 @@ import org.openrewrite.staticanalysis.LambdaBlockToExpression;
 
 import java.util.Collections;
 import java.util.Comparator;
-import java.util.Set;
 
 public class UpdateTestAnnotation extends Recipe {
 
@@ -65,17 +64,24 @@ public class UpdateTestAnnotation extends Recipe {
             return javaParser;
         }
 
+        /**
+         * Whether the compilation unit references {@code org.junit.Test} other than through the annotations converted
+         * by {@link #visitMethodDeclaration}, like {@code Test.class}.
+         */
+        private boolean otherReferences;
+
         @Override
         public J.CompilationUnit visitCompilationUnit(J.CompilationUnit cu, ExecutionContext ctx) {
+            otherReferences = false;
             J.CompilationUnit c = super.visitCompilationUnit(cu, ctx);
-            Set<NameTree> nameTreeSet = c.findType("org.junit.Test");
-            if (!nameTreeSet.isEmpty()) {
-                // Update other references like `Test.class`.
-                c = (J.CompilationUnit) new ChangeType("org.junit.Test", "org.junit.jupiter.api.Test", true)
-                        .getVisitor().visitNonNull(c, ctx);
+            maybeRemoveImport("org.junit.Test");
+            if (!otherReferences) {
+                return c;
             }
 
-            maybeRemoveImport("org.junit.Test");
+            // Update other references like `Test.class`.
+            c = (J.CompilationUnit) new ChangeType("org.junit.Test", "org.junit.jupiter.api.Test", true)
+                    .getVisitor().visitNonNull(c, ctx);
             doAfterVisit(new JavaIsoVisitor<ExecutionContext>() {
                 @Override
                 public J.CompilationUnit visitCompilationUnit(J.CompilationUnit cu, ExecutionContext ctx) {
@@ -114,6 +120,28 @@ public class UpdateTestAnnotation extends Recipe {
             return c;
         }
 
+        @Override
+        public J.Import visitImport(J.Import anImport, ExecutionContext ctx) {
+            // Imports are taken care of by `maybeRemoveImport` and `maybeAddImport`
+            return anImport;
+        }
+
+        @Override
+        public J.Identifier visitIdentifier(J.Identifier identifier, ExecutionContext ctx) {
+            if (TypeUtils.isOfClassType(identifier.getType(), "org.junit.Test")) {
+                otherReferences = true;
+            }
+            return super.visitIdentifier(identifier, ctx);
+        }
+
+        @Override
+        public J.FieldAccess visitFieldAccess(J.FieldAccess fieldAccess, ExecutionContext ctx) {
+            if (TypeUtils.isOfClassType(fieldAccess.getType(), "org.junit.Test")) {
+                otherReferences = true;
+            }
+            return super.visitFieldAccess(fieldAccess, ctx);
+        }
+
         @Override
         public J.MethodDeclaration visitMethodDeclaration(J.MethodDeclaration method, ExecutionContext ctx) {
             ChangeTestAnnotation cta = new ChangeTestAnnotation();
@@ -15,6 +15,7 @@
  */
 package org.openrewrite.java.testing.junit5;
 
+import org.jspecify.annotations.Nullable;
 import org.openrewrite.ExecutionContext;
 import org.openrewrite.Preconditions;
 import org.openrewrite.Recipe;
@@ -56,18 +57,12 @@ public class UseWiremockExtension extends Recipe {
                 return tree;
             }
 
-            @SuppressWarnings("ConcatenationWithEmptyString")
-            @Override
-            public J visitNewClass(J.NewClass newClass, ExecutionContext ctx) {
-                J.NewClass n = (J.NewClass) super.visitNewClass(newClass, ctx);
-                if (newWiremockRule.matches(n)) {
-                    maybeAddImport("com.github.tomakehurst.wiremock.junit5.WireMockExtension");
-                    doAfterVisit(new ChangeType("org.junit.Rule", "org.junit.jupiter.api.extension.RegisterExtension", true)
-                            .getVisitor());
-
-                    Expression arg = n.getArguments().get(0);
+            private JavaParser.@Nullable Builder<?, ?> wiremockParser;
 
-                    JavaParser.Builder<?, ?> wiremockParser = JavaParser.fromJavaVersion()
+            @SuppressWarnings("ConcatenationWithEmptyString")
+            private JavaParser.Builder<?, ?> wiremockParser() {
+                if (wiremockParser == null) {
+                    wiremockParser = JavaParser.fromJavaVersion()
                             .dependsOn(
                                     //language=java
                                     "" +
@@ -95,12 +90,25 @@ public class UseWiremockExtension extends Recipe {
                                     "" +
                                     "package com.github.tomakehurst.wiremock.core;" +
                                     "public interface Options {}");
+                }
+                return wiremockParser;
+            }
+
+            @Override
+            public J visitNewClass(J.NewClass newClass, ExecutionContext ctx) {
+                J.NewClass n = (J.NewClass) super.visitNewClass(newClass, ctx);
+                if (newWiremockRule.matches(n)) {
+                    maybeAddImport("com.github.tomakehurst.wiremock.junit5.WireMockExtension");
+                    doAfterVisit(new ChangeType("org.junit.Rule", "org.junit.jupiter.api.extension.RegisterExtension", true)
+                            .getVisitor());
+
+                    Expression arg = n.getArguments().get(0);
 
                     if (arg instanceof J.Empty) {
                         String newWiremockExtension = "WireMockExtension.newInstance().build()";
                         return JavaTemplate.builder(newWiremockExtension)
                                 .imports("com.github.tomakehurst.wiremock.junit5.WireMockExtension")
-                                .javaParser(wiremockParser)
+                                .javaParser(wiremockParser())
                                 .build()
                                 .apply(getCursor(), n.getCoordinates().replace());
                     } else {
@@ -112,7 +120,7 @@ public class UseWiremockExtension extends Recipe {
                                 newWiremockExtension += ".failOnUnmatchedRequests(#{any(boolean)})";
                                 return JavaTemplate.builder(newWiremockExtension + ".build()")
                                         .imports("com.github.tomakehurst.wiremock.junit5.WireMockExtension")
-                                        .javaParser(wiremockParser)
+                                        .javaParser(wiremockParser())
                                         .build()
                                         .apply(
                                                 updateCursor(n),
@@ -123,7 +131,7 @@ public class UseWiremockExtension extends Recipe {
                             } else {
                                 return JavaTemplate.builder(newWiremockExtension + ".build()")
                                         .imports("com.github.tomakehurst.wiremock.junit5.WireMockExtension")
-                                        .javaParser(wiremockParser)
+                                        .javaParser(wiremockParser())
                                         .build()
                                         .apply(updateCursor(n), n.getCoordinates().replace(), arg);
                             }
@@ -136,7 +144,7 @@ public class UseWiremockExtension extends Recipe {
                                 return JavaTemplate.builder(newWiremockExtension + ").build()")
                                         .imports("com.github.tomakehurst.wiremock.core.WireMockConfiguration")
                                         .imports("com.github.tomakehurst.wiremock.junit5.WireMockExtension")
-                                        .javaParser(wiremockParser)
+                                        .javaParser(wiremockParser())
                                         .build()
                                         .apply(
                                                 updateCursor(n),
@@ -148,7 +156,7 @@ public class UseWiremockExtension extends Recipe {
                                 return JavaTemplate.builder(newWiremockExtension + ").build()")
                                         .imports("com.github.tomakehurst.wiremock.core.WireMockConfiguration")
                                         .imports("com.github.tomakehurst.wiremock.junit5.WireMockExtension")
-                                        .javaParser(wiremockParser)
+                                        .javaParser(wiremockParser())
                                         .build()
                                         .apply(updateCursor(n), n.getCoordinates().replace(), arg);
                             }
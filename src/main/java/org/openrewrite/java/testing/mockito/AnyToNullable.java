@@ -19,13 +19,10 @@ import org.jspecify.annotations.Nullable;
 import org.openrewrite.*;
 import org.openrewrite.java.ChangeMethodName;
 import org.openrewrite.java.ChangeMethodTargetToStatic;
-import org.openrewrite.java.tree.J;
+import org.openrewrite.java.testing.internal.ScanFacts;
 import org.openrewrite.java.tree.JavaSourceFile;
-import org.openrewrite.xml.tree.Xml;
 
-import java.util.concurrent.atomic.AtomicBoolean;
-
-public class AnyToNullable extends ScanningRecipe<AtomicBoolean> {
+public class AnyToNullable extends ScanningRecipe<ProjectsWithDependency> {
     @Override
     public String getDisplayName() {
         return "Replace Mockito 1.x `anyString()`/`any()` with `nullable(Class)`";
@@ -37,24 +34,19 @@ public class AnyToNullable extends ScanningRecipe<AtomicBoolean> {
     }
 
     @Override
-    public AtomicBoolean getInitialValue(ExecutionContext ctx) {
-        return new AtomicBoolean();
+    public ProjectsWithDependency getInitialValue(ExecutionContext ctx) {
+        return new ProjectsWithDependency();
     }
 
     @Override
-    public TreeVisitor<?, ExecutionContext> getScanner(AtomicBoolean acc) {
-        org.openrewrite.maven.search.FindDependency mavenFindDependency =
-                new org.openrewrite.maven.search.FindDependency("org.mockito", "mockito-all", null, null);
-        org.openrewrite.gradle.search.FindDependency gradleFindDependency =
-                new org.openrewrite.gradle.search.FindDependency("org.mockito", "mockito-all", null);
+    public TreeVisitor<?, ExecutionContext> getScanner(ProjectsWithDependency acc) {
         return new TreeVisitor<Tree, ExecutionContext>() {
             @Override
             public @Nullable Tree visit(@Nullable Tree tree, ExecutionContext ctx) {
-                if (!acc.get()) {
-                    if (tree instanceof Xml.Document && tree != mavenFindDependency.getVisitor().visit(tree, ctx)) {
-                        acc.set(true);
-                    } else if (tree instanceof J && tree != gradleFindDependency.getVisitor().visit(tree, ctx)) {
-                        acc.set(true);
+                if (ProjectsWithDependency.isBuildFile(tree)) {
+                    SourceFile buildFile = (SourceFile) tree;
+                    if (!acc.isRecorded(buildFile) && ScanFacts.of(buildFile, ctx).isDeclaringMockitoAll()) {
+                        acc.record(buildFile);
                     }
                 }
                 return tree;
@@ -63,17 +55,19 @@ public class AnyToNullable extends ScanningRecipe<AtomicBoolean> {
     }
 
     @Override
-    public TreeVisitor<?, ExecutionContext> getVisitor(AtomicBoolean acc) {
-        return Preconditions.check(acc.get(), new TreeVisitor<Tree, ExecutionContext>() {
+    public TreeVisitor<?, ExecutionContext> getVisitor(ProjectsWithDependency acc) {
+        return Preconditions.check(!acc.isEmpty(), new TreeVisitor<Tree, ExecutionContext>() {
             @Override
             public @Nullable Tree preVisit(Tree tree, ExecutionContext ctx) {
                 if (tree instanceof JavaSourceFile) {
                     stopAfterPreVisit();
-                    doAfterVisit(new ChangeMethodName(
-                            "org.mockito.Mockito any(java.lang.Class)", "nullable", null, null).getVisitor());
-                    doAfterVisit(new ChangeMethodTargetToStatic(
-                            "org.mockito.Mockito nullable(java.lang.Class)", "org.mockito.ArgumentMatchers", null, null).getVisitor());
-                    doAfterVisit(new AnyStringToNullable().getVisitor());
+                    if (acc.contains((JavaSourceFile) tree)) {
+                        doAfterVisit(new ChangeMethodName(
+                                "org.mockito.Mockito any(java.lang.Class)", "nullable", null, null).getVisitor());
+                        doAfterVisit(new ChangeMethodTargetToStatic(
+                                "org.mockito.Mockito nullable(java.lang.Class)", "org.mockito.ArgumentMatchers", null, null).getVisitor());
+                        doAfterVisit(new AnyStringToNullable().getVisitor());
+                    }
                 }
                 return super.preVisit(tree, ctx);
             }
@@ -15,6 +15,7 @@
  */
 package org.openrewrite.java.testing.mockito;
 
+import org.jspecify.annotations.Nullable;
 import org.openrewrite.ExecutionContext;
 import org.openrewrite.Preconditions;
 import org.openrewrite.Recipe;
@@ -29,9 +30,12 @@ import org.openrewrite.java.tree.Flag;
 import org.openrewrite.java.tree.J;
 import org.openrewrite.java.tree.Statement;
 
-import java.util.Collections;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
-import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.Set;
+
+import static java.util.Objects.requireNonNull;
 
 public class MockitoWhenOnStaticToMockStatic extends Recipe {
 
@@ -57,58 +61,100 @@ public class MockitoWhenOnStaticToMockStatic extends Recipe {
                     return m;
                 }
 
-                List<Statement> newStatements = maybeWrapStatementsInTryWithResourcesMockedStatic(m, m.getBody().getStatements());
+                List<Statement> statements = m.getBody().getStatements();
+                List<Integer> stubIndexes = new ArrayList<>();
+                for (int i = 0; i < statements.size(); i++) {
+                    if (getStaticMockedClass(statements.get(i)) != null) {
+                        stubIndexes.add(i);
+                    }
+                }
+                if (stubIndexes.isEmpty()) {
+                    return m;
+                }
+
+                List<Statement> newStatements = wrapStatementsInTryWithResourcesMockedStatic(m, statements, stubIndexes, ctx);
                 return maybeAutoFormat(m, m.withBody(m.getBody().withStatements(newStatements)), ctx);
             }
 
-            private List<Statement> maybeWrapStatementsInTryWithResourcesMockedStatic(J.MethodDeclaration m, List<Statement> remainingStatements) {
-                AtomicBoolean restInTry = new AtomicBoolean(false);
-                return ListUtils.flatMap(remainingStatements, (index, statement) -> {
-                    if (restInTry.get()) {
-                        // Rest of the statements have ended up in the try block
-                        return Collections.emptyList();
+            /**
+             * Nests the statements following each static stub in a try-with-resources block of its own, using a
+             * single template for all the stubs of the method.
+             */
+            private List<Statement> wrapStatementsInTryWithResourcesMockedStatic(J.MethodDeclaration m, List<Statement> statements,
+                                                                                 List<Integer> stubIndexes, ExecutionContext ctx) {
+                Set<String> namesInScope = new HashSet<>(VariableNameUtils.findNamesInScope(getCursor()));
+                StringBuilder template = new StringBuilder();
+                List<Object> parameters = new ArrayList<>(stubIndexes.size() * 2);
+                for (Integer stubIndex : stubIndexes) {
+                    J.MethodInvocation stub = (J.MethodInvocation) statements.get(stubIndex);
+                    J.MethodInvocation whenArg = (J.MethodInvocation) requireNonNull((J.MethodInvocation) stub.getSelect()).getArguments().get(0);
+                    String className = requireNonNull(getStaticMockedClass(stub)).getSimpleName();
+                    String mockName = generateVariableName("mock" + className, namesInScope);
+                    template.append(String.format(
+                            "try(MockedStatic<%1$s> %2$s = mockStatic(%1$s.class)) {\n" +
+                            "    %2$s.when(#{any()}).thenReturn(#{any()});\n", className, mockName));
+                    parameters.add(whenArg);
+                    parameters.add(stub.getArguments().get(0));
+                }
+                for (int i = 0; i < stubIndexes.size(); i++) {
+                    template.append("}\n");
+                }
+                maybeAddImport("org.mockito.MockedStatic", false);
+                maybeAddImport("org.mockito.Mockito", "mockStatic");
+
+                J.Try outerTry = (J.Try) ((J.MethodDeclaration) JavaTemplate.builder(template.toString())
+                        .contextSensitive()
+                        .imports("org.mockito.MockedStatic")
+                        .staticImports("org.mockito.Mockito.mockStatic")
+                        .build()
+                        .apply(getCursor(), m.getCoordinates().replaceBody(), parameters.toArray()))
+                        .getBody().getStatements().get(0);
+
+                List<J.Try> tries = new ArrayList<>(stubIndexes.size());
+                for (J.Try try_ = outerTry; ; try_ = (J.Try) try_.getBody().getStatements().get(1)) {
+                    tries.add(try_);
+                    if (tries.size() == stubIndexes.size()) {
+                        break;
                     }
+                }
+
+                // Rebuild the nested blocks inside out, moving the statements between the stubs into them
+                List<Statement> body = statements.subList(stubIndexes.get(stubIndexes.size() - 1) + 1, statements.size());
+                for (int i = stubIndexes.size() - 1; i >= 0; i--) {
+                    J.Try try_ = tries.get(i);
+                    List<Statement> tryStatements = new ArrayList<>(body.size() + 1);
+                    tryStatements.add(try_.getBody().getStatements().get(0));
+                    tryStatements.addAll(body);
+                    try_ = try_.withBody(try_.getBody().withStatements(tryStatements))
+                            .withPrefix(statements.get(stubIndexes.get(i)).getPrefix());
+                    int from = i == 0 ? 0 : stubIndexes.get(i - 1) + 1;
+                    body = ListUtils.concat(new ArrayList<>(statements.subList(from, stubIndexes.get(i))), try_);
+                }
+                return body;
+            }
 
-                    if (statement instanceof J.MethodInvocation &&
-                        MOCKITO_WHEN.matches(((J.MethodInvocation) statement).getSelect())) {
-                        J.MethodInvocation when = (J.MethodInvocation) ((J.MethodInvocation) statement).getSelect();
-                        if (when != null && when.getArguments().get(0) instanceof J.MethodInvocation) {
-                            J.MethodInvocation whenArg = (J.MethodInvocation) when.getArguments().get(0);
-                            if (whenArg.getMethodType() != null && whenArg.getMethodType().hasFlags(Flag.Static)) {
-                                J.Identifier clazz = (J.Identifier) whenArg.getSelect();
-                                if (clazz != null && clazz.getType() != null) {
-                                    String mockName = VariableNameUtils.generateVariableName("mock" + clazz.getSimpleName(), updateCursor(m), VariableNameUtils.GenerationStrategy.INCREMENT_NUMBER);
-                                    maybeAddImport("org.mockito.MockedStatic", false);
-                                    maybeAddImport("org.mockito.Mockito", "mockStatic");
-                                    String template = String.format(
-                                            "try(MockedStatic<%1$s> %2$s = mockStatic(%1$s.class)) {\n" +
-                                            "    %2$s.when(#{any()}).thenReturn(#{any()});\n" +
-                                            "}", clazz.getSimpleName(), mockName);
-                                    J.Try try_ = (J.Try) ((J.MethodDeclaration) JavaTemplate.builder(template)
-                                            .contextSensitive()
-                                            .imports("org.mockito.MockedStatic")
-                                            .staticImports("org.mockito.Mockito.mockStatic")
-                                            .build()
-                                            .apply(getCursor(), m.getCoordinates().replaceBody(),
-                                                    whenArg, ((J.MethodInvocation) statement).getArguments().get(0)))
-                                            .getBody().getStatements().get(0);
-
-                                    restInTry.set(true);
-
-                                    List<Statement> precedingStatements = remainingStatements.subList(0, index);
-                                    return try_.withBody(try_.getBody().withStatements(ListUtils.concatAll(
-                                                    try_.getBody().getStatements(),
-                                                    maybeWrapStatementsInTryWithResourcesMockedStatic(
-                                                            m.withBody(m.getBody().withStatements(ListUtils.concat(precedingStatements, try_))),
-                                                            remainingStatements.subList(index + 1, remainingStatements.size())
-                                                    ))))
-                                            .withPrefix(statement.getPrefix());
-                                }
-                            }
+            private String generateVariableName(String baseName, Set<String> namesInScope) {
+                String name = baseName;
+                for (int i = 1; namesInScope.contains(name); i++) {
+                    name = baseName + i;
+                }
+                namesInScope.add(name);
+                return name;
+            }
+
+            private J.@Nullable Identifier getStaticMockedClass(Statement statement) {
+                if (statement instanceof J.MethodInvocation &&
+                    MOCKITO_WHEN.matches(((J.MethodInvocation) statement).getSelect())) {
+                    J.MethodInvocation when = (J.MethodInvocation) ((J.MethodInvocation) statement).getSelect();
+                    if (when != null && when.getArguments().get(0) instanceof J.MethodInvocation) {
+                        J.MethodInvocation whenArg = (J.MethodInvocation) when.getArguments().get(0);
+                        if (whenArg.getMethodType() != null && whenArg.getMethodType().hasFlags(Flag.Static) &&
+                            whenArg.getSelect() instanceof J.Identifier && whenArg.getSelect().getType() != null) {
+                            return (J.Identifier) whenArg.getSelect();
                         }
                     }
-                    return statement;
-                });
+                }
+                return null;
             }
         });
     }
@@ -20,7 +20,8 @@ import org.openrewrite.*;
 import org.openrewrite.internal.ListUtils;
 import org.openrewrite.java.*;
 import org.openrewrite.java.search.FindAnnotations;
-import org.openrewrite.java.search.UsesType;
+import org.openrewrite.java.testing.internal.TestFrameworks;
+import org.openrewrite.java.testing.internal.TestFrameworks.Framework;
 import org.openrewrite.java.tree.*;
 
 import java.util.*;
@@ -42,10 +43,7 @@ public class PowerMockitoMockStaticToMockito extends Recipe {
     @Override
     public TreeVisitor<?, ExecutionContext> getVisitor() {
         return Preconditions.check(
-                Preconditions.or(
-                        new UsesType<>("org.powermock..*", false),
-                        new UsesType<>("org.mockito..*", false)
-                ),
+                TestFrameworks.using(Framework.POWERMOCK, Framework.MOCKITO),
                 new PowerMockitoToMockitoVisitor()
         );
     }
@@ -82,7 +80,8 @@ public class PowerMockitoMockStaticToMockito extends Recipe {
         @Override
         public @Nullable J visit(@Nullable Tree tree, ExecutionContext ctx) {
             if (tree instanceof JavaSourceFile) {
-                boolean useTestNg = !FindAnnotations.find((J) tree, "@org.testng.annotations.Test").isEmpty();
+                boolean useTestNg = TestFrameworks.of((JavaSourceFile) tree, ctx).uses(Framework.TESTNG) &&
+                                    !FindAnnotations.find((J) tree, "@org.testng.annotations.Test").isEmpty();
                 initTestFrameworkInfo(useTestNg);
             }
             return super.visit(tree, ctx);
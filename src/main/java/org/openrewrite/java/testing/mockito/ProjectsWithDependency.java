@@ -0,0 +1,114 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.testing.mockito;
+
+import org.jspecify.annotations.Nullable;
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.SourceFile;
+import org.openrewrite.Tree;
+import org.openrewrite.TreeVisitor;
+import org.openrewrite.java.marker.JavaProject;
+import org.openrewrite.java.testing.internal.ScanFacts;
+import org.openrewrite.marker.SearchResult;
+
+import java.io.Serializable;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Scan result of recipes that only apply to projects whose Maven or Gradle build file matches some dependency.
+ * Matches are recorded per {@link JavaProject}, so that in a multi-module repository only the modules that actually
+ * declare the dependency are changed. Build files without a {@link JavaProject} marker apply to all source files.
+ * <p>
+ * Projects are recorded by their published group and artifact id, or else by their name, rather than by the random id
+ * of their marker, which differs between separately parsed sets of source files. That way the scan result can be
+ * serialized, and scan results of disjoint sets of source files can be {@linkplain #merge(ProjectsWithDependency) merged}.
+ */
+class ProjectsWithDependency implements Serializable {
+    private static final long serialVersionUID = 2L;
+
+    private final Set<String> projects = new HashSet<>();
+    private boolean unattributed;
+
+    /**
+     * A cheap marker check to restrict scanning to Maven and Gradle build files.
+     */
+    static boolean isBuildFile(@Nullable Tree tree) {
+        return tree instanceof SourceFile && ScanFacts.isBuildFile((SourceFile) tree);
+    }
+
+    /**
+     * @return {@code true} when the project of this build file is already known to match, so it need not be visited.
+     */
+    boolean isRecorded(SourceFile buildFile) {
+        JavaProject project = buildFile.getMarkers().findFirst(JavaProject.class).orElse(null);
+        return project == null ? unattributed : unattributed || projects.contains(key(project));
+    }
+
+    void record(SourceFile buildFile) {
+        JavaProject project = buildFile.getMarkers().findFirst(JavaProject.class).orElse(null);
+        if (project == null) {
+            unattributed = true;
+        } else {
+            projects.add(key(project));
+        }
+    }
+
+    private static String key(JavaProject project) {
+        JavaProject.Publication publication = project.getPublication();
+        return publication == null ?
+                project.getProjectName() :
+                publication.getGroupId() + ':' + publication.getArtifactId();
+    }
+
+    /**
+     * @return The scan result of the source files scanned for either of these scan results.
+     */
+    ProjectsWithDependency merge(ProjectsWithDependency other) {
+        ProjectsWithDependency merged = new ProjectsWithDependency();
+        merged.projects.addAll(projects);
+        merged.projects.addAll(other.projects);
+        merged.unattributed = unattributed || other.unattributed;
+        return merged;
+    }
+
+    boolean isEmpty() {
+        return !unattributed && projects.isEmpty();
+    }
+
+    boolean contains(SourceFile sourceFile) {
+        if (unattributed) {
+            return true;
+        }
+        JavaProject project = sourceFile.getMarkers().findFirst(JavaProject.class).orElse(null);
+        return project == null ? !projects.isEmpty() : projects.contains(key(project));
+    }
+
+    /**
+     * @return A precondition matching the source files that belong to a recorded project.
+     */
+    TreeVisitor<?, ExecutionContext> inRecordedProject() {
+        return new TreeVisitor<Tree, ExecutionContext>() {
+            @Override
+            public @Nullable Tree visit(@Nullable Tree tree, ExecutionContext ctx) {
+                if (tree instanceof SourceFile && contains((SourceFile) tree)) {
+                    return SearchResult.found(tree);
+                }
+                return tree;
+            }
+        };
+    }
+}
@@ -21,16 +21,15 @@ import org.openrewrite.java.JavaIsoVisitor;
 import org.openrewrite.java.JavaParser;
 import org.openrewrite.java.JavaTemplate;
 import org.openrewrite.java.RemoveAnnotation;
-import org.openrewrite.java.dependencies.DependencyInsight;
 import org.openrewrite.java.search.FindAnnotations;
 import org.openrewrite.java.search.UsesType;
+import org.openrewrite.java.testing.internal.ScanFacts;
 import org.openrewrite.java.tree.J;
 
 import java.util.Comparator;
 import java.util.Set;
-import java.util.concurrent.atomic.AtomicBoolean;
 
-public class RetainStrictnessWarn extends ScanningRecipe<AtomicBoolean> {
+public class RetainStrictnessWarn extends ScanningRecipe<ProjectsWithDependency> {
 
     private static final String EXTEND_WITH_FQ = "org.junit.jupiter.api.extension.ExtendWith";
     private static final String MOCKITO_EXTENSION_FQ = "org.mockito.junit.jupiter.MockitoExtension";
@@ -51,18 +50,20 @@ public class RetainStrictnessWarn extends ScanningRecipe<AtomicBoolean> {
     }
 
     @Override
-    public AtomicBoolean getInitialValue(ExecutionContext ctx) {
-        return new AtomicBoolean(false);
+    public ProjectsWithDependency getInitialValue(ExecutionContext ctx) {
+        return new ProjectsWithDependency();
     }
 
     @Override
-    public TreeVisitor<?, ExecutionContext> getScanner(AtomicBoolean usingOlderMockito) {
-        TreeVisitor<?, ExecutionContext> div = new DependencyInsight("org.mockito", "mockito-*", "[1.1,2.17)", null).getVisitor();
+    public TreeVisitor<?, ExecutionContext> getScanner(ProjectsWithDependency usingOlderMockito) {
         return new TreeVisitor<Tree, ExecutionContext>() {
             @Override
             public @Nullable Tree visit(@Nullable Tree tree, ExecutionContext ctx) {
-                if (!usingOlderMockito.get() && div.visit(tree, ctx) != tree) {
-                    usingOlderMockito.set(true);
+                if (ProjectsWithDependency.isBuildFile(tree)) {
+                    SourceFile buildFile = (SourceFile) tree;
+                    if (!usingOlderMockito.isRecorded(buildFile) && ScanFacts.of(buildFile, ctx).isResolvingMockitoBefore2_17()) {
+                        usingOlderMockito.record(buildFile);
+                    }
                 }
                 return tree;
             }
@@ -70,10 +71,11 @@ public class RetainStrictnessWarn extends ScanningRecipe<AtomicBoolean> {
     }
 
     @Override
-    public TreeVisitor<?, ExecutionContext> getVisitor(AtomicBoolean usingOlderMockito) {
-        return Preconditions.check(usingOlderMockito.get(),
+    public TreeVisitor<?, ExecutionContext> getVisitor(ProjectsWithDependency usingOlderMockito) {
+        return Preconditions.check(!usingOlderMockito.isEmpty(),
                 Preconditions.check(
                         Preconditions.and(
+                                usingOlderMockito.inRecordedProject(),
                                 new UsesType<>(MOCKITO_EXTENSION_FQ, true),
                                 Preconditions.not(new UsesType<>(MOCKITO_SETTINGS_FQ, false))
                         ), new JavaIsoVisitor<ExecutionContext>() {
@@ -317,4 +317,25 @@ class CollapseConsecutiveAssertThatStatementsTest implements RewriteTest {
           )
         );
     }
+
+    @Test
+    void ignoreDifferentActualsWithSameName() {
+        //language=java
+        rewriteRun(
+          java(
+            """
+              import static org.assertj.core.api.Assertions.assertThat;
+
+              class Node { String name; }
+
+              class MyTest {
+                  void b(Node a, Node b) {
+                      assertThat(a.name).isNotNull();
+                      assertThat(b.name).isNotEmpty();
+                  }
+              }
+              """
+          )
+        );
+    }
 }
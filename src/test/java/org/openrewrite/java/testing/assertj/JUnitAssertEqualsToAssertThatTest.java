@@ -19,12 +19,16 @@ import org.junit.jupiter.api.Test;
 import org.openrewrite.DocumentExample;
 import org.openrewrite.InMemoryExecutionContext;
 import org.openrewrite.Issue;
+import org.openrewrite.groovy.GroovyParser;
 import org.openrewrite.java.JavaParser;
+import org.openrewrite.kotlin.KotlinParser;
 import org.openrewrite.test.RecipeSpec;
 import org.openrewrite.test.RewriteTest;
 import org.openrewrite.test.TypeValidation;
 
+import static org.openrewrite.groovy.Assertions.groovy;
 import static org.openrewrite.java.Assertions.java;
+import static org.openrewrite.kotlin.Assertions.kotlin;
 
 @SuppressWarnings({"UnnecessaryBoxing", "ExcessiveLambdaUsage"})
 class JUnitAssertEqualsToAssertThatTest implements RewriteTest {
@@ -401,4 +405,64 @@ class JUnitAssertEqualsToAssertThatTest implements RewriteTest {
           )
         );
     }
+
+    @Test
+    void kotlinImports() {
+        rewriteRun(
+          spec -> spec.parser(KotlinParser.builder()
+              .classpathFromResources(new InMemoryExecutionContext(), "junit-jupiter-api-5.9"))
+            // the Java template attributes `assertThat` against the Java parser's classpath only
+            .afterTypeValidationOptions(TypeValidation.none()),
+          //language=kotlin
+          kotlin(
+            """
+              import org.junit.jupiter.api.Assertions.assertEquals
+
+              class MyTest {
+                  fun test() {
+                      assertEquals("a", "a".lowercase())
+                  }
+              }
+              """,
+            """
+              import org.assertj.core.api.Assertions.assertThat
+
+              class MyTest {
+                  fun test() {
+                      assertThat("a".lowercase()).isEqualTo("a")
+                  }
+              }
+              """
+          )
+        );
+    }
+
+    @Test
+    void groovyImports() {
+        rewriteRun(
+          spec -> spec.parser(GroovyParser.builder()
+            .classpathFromResource(new InMemoryExecutionContext(), "junit-jupiter-api-5.9")),
+          //language=groovy
+          groovy(
+            """
+              import static org.junit.jupiter.api.Assertions.assertEquals
+
+              class MyTest {
+                  void test() {
+                      assertEquals("a", "a".toLowerCase())
+                  }
+              }
+              """,
+            """
+              import static org.assertj.core.api.Assertions.assertThat
+
+              class MyTest {
+                  void test() {
+                      assertThat("a".toLowerCase()).isEqualTo("a")
+                  }
+              }
+              """
+          )
+        );
+    }
 }
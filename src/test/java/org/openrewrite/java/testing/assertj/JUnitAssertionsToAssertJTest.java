@@ -0,0 +1,133 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.testing.assertj;
+
+import org.junit.jupiter.api.Test;
+import org.openrewrite.DocumentExample;
+import org.openrewrite.InMemoryExecutionContext;
+import org.openrewrite.java.JavaParser;
+import org.openrewrite.test.RecipeSpec;
+import org.openrewrite.test.RewriteTest;
+
+import static org.openrewrite.java.Assertions.java;
+
+class JUnitAssertionsToAssertJTest implements RewriteTest {
+
+    @Override
+    public void defaults(RecipeSpec spec) {
+        spec
+          .parser(JavaParser.fromJavaVersion()
+            .classpathFromResources(new InMemoryExecutionContext(), "junit-jupiter-api-5.9"))
+          .recipe(new JUnitAssertionsToAssertJ());
+    }
+
+    @DocumentExample
+    @Test
+    void mixedAssertions() {
+        //language=java
+        rewriteRun(
+          java(
+            """
+              import org.junit.jupiter.api.Test;
+
+              import static org.junit.jupiter.api.Assertions.*;
+
+              class MyTest {
+                  @Test
+                  void test() {
+                      String name = "name";
+                      assertEquals("name", name);
+                      assertNotEquals("other", name, "message");
+                      assertTrue(name.isEmpty());
+                      assertFalse(name.isBlank(), "message");
+                      assertNull(System.getProperty("name"));
+                      assertNotNull(name);
+                      assertSame(name, name);
+                      assertArrayEquals(new int[]{1}, new int[]{1});
+                      assertThrows(IllegalStateException.class, () -> {
+                          throw new IllegalStateException();
+                      });
+                  }
+
+                  @Test
+                  void failing() {
+                      fail("message");
+                  }
+              }
+              """,
+            """
+              import org.junit.jupiter.api.Test;
+
+              import static org.assertj.core.api.Assertions.assertThat;
+              import static org.assertj.core.api.Assertions.fail;
+              import static org.assertj.core.api.AssertionsForClassTypes.assertThatExceptionOfType;
+
+              class MyTest {
+                  @Test
+                  void test() {
+                      String name = "name";
+                      assertThat(name).isEqualTo("name");
+                      assertThat(name).as("message").isNotEqualTo("other");
+                      assertThat(name.isEmpty()).isTrue();
+                      assertThat(name.isBlank()).as("message").isFalse();
+                      assertThat(System.getProperty("name")).isNull();
+                      assertThat(name).isNotNull();
+                      assertThat(name).isSameAs(name);
+                      assertThat(new int[]{1}).containsExactly(new int[]{1});
+                      assertThatExceptionOfType(IllegalStateException.class).isThrownBy(() -> {
+                          throw new IllegalStateException();
+                      });
+                  }
+
+                  @Test
+                  void failing() {
+                      fail("message");
+                  }
+              }
+              """
+          )
+        );
+    }
+
+    @Test
+    void qualifiedAssertions() {
+        //language=java
+        rewriteRun(
+          java(
+            """
+              import org.junit.jupiter.api.Assertions;
+
+              class MyTest {
+                  void test(String name) {
+                      Assertions.assertEquals("name", name);
+                      Assertions.assertNotNull(name, () -> "message");
+                  }
+              }
+              """,
+            """
+              import static org.assertj.core.api.Assertions.assertThat;
+
+              class MyTest {
+                  void test(String name) {
+                      assertThat(name).isEqualTo("name");
+                      assertThat(name).as(() -> "message").isNotNull();
+                  }
+              }
+              """
+          )
+        );
+    }
+}
@@ -19,10 +19,16 @@ import org.junit.jupiter.api.Test;
 import org.openrewrite.DocumentExample;
 import org.openrewrite.InMemoryExecutionContext;
 import org.openrewrite.Issue;
+import org.openrewrite.SourceFile;
 import org.openrewrite.java.JavaParser;
+import org.openrewrite.java.testing.internal.ShardedScan;
 import org.openrewrite.test.RecipeSpec;
 import org.openrewrite.test.RewriteTest;
 
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.openrewrite.java.Assertions.java;
 
 class TestsShouldNotBePublicTest implements RewriteTest {
@@ -532,4 +538,57 @@ class TestsShouldNotBePublicTest implements RewriteTest {
           )
         );
     }
+
+    @Test
+    void shardedScanMatchesUnshardedScan() {
+        List<SourceFile> sourceFiles = JavaParser.fromJavaVersion()
+          .classpathFromResources(new InMemoryExecutionContext(), "junit-jupiter-api-5.9")
+          .build()
+          .parse(
+            //language=java
+            """
+              import org.junit.jupiter.api.Test;
+
+              public class ATest {
+                  @Test
+                  public void a() {
+                  }
+              }
+              """,
+            //language=java
+            """
+              import org.junit.jupiter.api.Test;
+
+              public class BTest {
+                  @Test
+                  public void b() {
+                  }
+              }
+              """,
+            //language=java
+            """
+              import org.junit.jupiter.api.Test;
+
+              public class CTest {
+                  @Test
+                  public void c() {
+                  }
+              }
+              """,
+            //language=java
+            """
+              class ExtendingBTest extends BTest {
+              }
+              """
+          )
+          .collect(Collectors.toList());
+
+        List<String> unsharded = ShardedScan.run(new TestsShouldNotBePublic(false),
+          TestsShouldNotBePublic.Accumulator::merge, sourceFiles, 1);
+        assertThat(unsharded).isNotEqualTo(ShardedScan.printAll(sourceFiles));
+        assertThat(unsharded.get(1)).contains("public class BTest");
+        assertThat(ShardedScan.run(new TestsShouldNotBePublic(false),
+          TestsShouldNotBePublic.Accumulator::merge, sourceFiles, 3))
+          .isEqualTo(unsharded);
+    }
 }
@@ -0,0 +1,235 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.testing.internal;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.openrewrite.Recipe;
+import org.openrewrite.config.CategoryDescriptor;
+import org.openrewrite.config.Environment;
+import org.openrewrite.config.RecipeDescriptor;
+import org.openrewrite.config.YamlResourceLoader;
+
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.*;
+import java.util.stream.Stream;
+
+import static java.util.Objects.requireNonNull;
+import static java.util.stream.Collectors.toList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+class CompiledDeclarativeRecipeLoaderTest {
+
+    @TempDir
+    static Path tempDir;
+
+    static List<Path> yamlFiles;
+    static Environment yaml;
+    static Environment compiled;
+    static CompiledDeclarativeRecipeLoader compiledLoader;
+
+    @BeforeAll
+    static void compile() throws Exception {
+        Path yamlDir = Paths.get(requireNonNull(CompiledDeclarativeRecipeLoaderTest.class.getResource("/META-INF/rewrite/junit5.yml")).toURI()).getParent();
+        try (Stream<Path> list = Files.list(yamlDir)) {
+            yamlFiles = list.filter(p -> p.toString().endsWith(".yml")).sorted().collect(toList());
+        }
+        List<Path> resources = new ArrayList<>(yamlFiles);
+        if (Files.isDirectory(yamlDir.resolve("attribution"))) {
+            try (Stream<Path> list = Files.list(yamlDir.resolve("attribution"))) {
+                list.filter(p -> p.toString().endsWith(".yml")).forEach(resources::add);
+            }
+        }
+        // like the classpath scanning loader, every YAML file can refer to the recipes of the others
+        Environment.Builder env = Environment.builder();
+        for (Path file : resources) {
+            List<YamlResourceLoader> others = new ArrayList<>();
+            for (Path other : resources) {
+                if (!other.equals(file)) {
+                    others.add(yamlResourceLoader(other, Collections.emptyList()));
+                }
+            }
+            env.load(yamlResourceLoader(file, others));
+        }
+        yaml = env.build();
+
+        Path descriptor = tempDir.resolve("declarative-recipes.bin");
+        DeclarativeRecipeCompiler.compile(yamlDir, descriptor);
+        try (InputStream in = Files.newInputStream(descriptor)) {
+            compiledLoader = new CompiledDeclarativeRecipeLoader(in, CompiledDeclarativeRecipeLoaderTest.class.getClassLoader());
+        }
+        compiled = Environment.builder().load(compiledLoader).build();
+    }
+
+    private static YamlResourceLoader yamlResourceLoader(Path file, List<YamlResourceLoader> dependencies) throws Exception {
+        try (InputStream in = Files.newInputStream(file)) {
+            return new YamlResourceLoader(in, file.toUri(), new Properties(),
+              CompiledDeclarativeRecipeLoaderTest.class.getClassLoader(), dependencies);
+        }
+    }
+
+    @Test
+    void loadsTheSameRecipesAsTheYaml() {
+        List<String> names = yaml.listRecipes().stream().map(Recipe::getName).sorted().collect(toList());
+        assertThat(compiled.listRecipes().stream().map(Recipe::getName).sorted()).containsExactlyElementsOf(names);
+
+        for (String name : names) {
+            assertThat(compiled.activateRecipes(name).getDescriptor())
+              .as(name)
+              .usingRecursiveComparison()
+              .isEqualTo(yaml.activateRecipes(name).getDescriptor());
+        }
+    }
+
+    @Test
+    void listsTheSameRecipeDescriptorsAsTheYaml() {
+        Map<String, RecipeDescriptor> expected = byName(yaml.listRecipeDescriptors());
+        Map<String, RecipeDescriptor> actual = byName(compiled.listRecipeDescriptors());
+        assertThat(actual.keySet()).containsExactlyElementsOf(expected.keySet());
+        for (Map.Entry<String, RecipeDescriptor> descriptor : expected.entrySet()) {
+            assertThat(actual.get(descriptor.getKey()))
+              .as(descriptor.getKey())
+              .usingRecursiveComparison()
+              .isEqualTo(descriptor.getValue());
+        }
+    }
+
+    private static Map<String, RecipeDescriptor> byName(Collection<RecipeDescriptor> descriptors) {
+        Map<String, RecipeDescriptor> byName = new TreeMap<>();
+        for (RecipeDescriptor descriptor : descriptors) {
+            byName.put(descriptor.getName(), descriptor);
+        }
+        return byName;
+    }
+
+    @Test
+    void compilesStringsLongerThan64KB() throws Exception {
+        String description = "Ünïcödé ".repeat(10_000);
+        Path yamlDir = Files.createDirectories(tempDir.resolve("long"));
+        Files.writeString(yamlDir.resolve("long.yml"),
+          //language=yaml
+          """
+            type: specs.openrewrite.org/v1beta/recipe
+            name: org.openrewrite.java.testing.Long
+            displayName: Long
+            description: %s
+            recipeList:
+              - org.openrewrite.java.testing.junit5.AssertTrueInstanceofToAssertInstanceOf
+            """.formatted(description));
+
+        Path descriptor = tempDir.resolve("long.bin");
+        DeclarativeRecipeCompiler.compile(yamlDir, descriptor);
+        try (InputStream in = Files.newInputStream(descriptor)) {
+            assertThat(Environment.builder()
+              .load(new CompiledDeclarativeRecipeLoader(in, CompiledDeclarativeRecipeLoaderTest.class.getClassLoader()))
+              .build()
+              .activateRecipes("org.openrewrite.java.testing.Long")
+              .getDescription())
+              .isEqualTo(description.trim());
+        }
+    }
+
+    @Test
+    void loadsTheSameCategoriesAsTheYaml() {
+        assertThat(compiledLoader.listCategoryDescriptors())
+          .extracting(CategoryDescriptor::getPackageName, CategoryDescriptor::getDisplayName, CategoryDescriptor::getTags)
+          .containsExactlyInAnyOrderElementsOf(yaml.listCategoryDescriptors().stream()
+            .filter(c -> c.getPackageName().startsWith("org.openrewrite.java.testing"))
+            .map(c -> tuple(c.getPackageName(), c.getDisplayName(), c.getTags()))
+            .collect(toList()));
+    }
+
+    @Test
+    void loadsTheSameExamplesAndContributorsAsTheYaml() throws Exception {
+        Path yamlDir = Files.createDirectories(tempDir.resolve("examples"));
+        Files.writeString(yamlDir.resolve("example.yml"),
+          //language=yaml
+          """
+            type: specs.openrewrite.org/v1beta/recipe
+            name: org.openrewrite.java.testing.Example
+            displayName: Example
+            description: An example recipe.
+            recipeList:
+              - org.openrewrite.java.testing.junit5.AssertTrueInstanceofToAssertInstanceOf
+            ---
+            type: specs.openrewrite.org/v1beta/example
+            recipeName: org.openrewrite.java.testing.Example
+            examples:
+              - description: Only one example
+                parameters:
+                  - 'true'
+                  - 42
+                sources:
+                  - before: |
+                      class A {}
+                    after: |
+                      class B {}
+                    path: src/test/java/A.java
+                    language: java
+            """);
+        Files.writeString(Files.createDirectories(yamlDir.resolve("attribution")).resolve("org.openrewrite.java.testing.Example.yml"),
+          //language=yaml
+          """
+            type: specs.openrewrite.org/v1beta/attribution
+            recipeName: org.openrewrite.java.testing.Example
+            contributors:
+              - name: Jane Doe
+                email: jane@example.com
+                lineCount: 12
+            """);
+
+        Environment.Builder env = Environment.builder();
+        for (Path file : new Path[]{yamlDir.resolve("example.yml"), yamlDir.resolve("attribution/org.openrewrite.java.testing.Example.yml")}) {
+            try (InputStream in = Files.newInputStream(file)) {
+                env.load(new YamlResourceLoader(in, file.toUri(), new Properties()));
+            }
+        }
+        Environment fromYaml = env.build();
+
+        Path descriptor = tempDir.resolve("examples.bin");
+        DeclarativeRecipeCompiler.compile(yamlDir, descriptor);
+        Environment fromDescriptor;
+        try (InputStream in = Files.newInputStream(descriptor)) {
+            fromDescriptor = Environment.builder()
+              .load(new CompiledDeclarativeRecipeLoader(in, CompiledDeclarativeRecipeLoaderTest.class.getClassLoader()))
+              .build();
+        }
+
+        RecipeDescriptor expected = fromYaml.activateRecipes("org.openrewrite.java.testing.Example").getDescriptor();
+        assertThat(expected.getExamples()).singleElement()
+          .satisfies(example -> assertThat(example.getParameters()).containsExactly("true", "42"));
+        assertThat(expected.getContributors()).singleElement()
+          .satisfies(contributor -> assertThat(contributor.getLineCount()).isEqualTo(12));
+        assertThat(fromDescriptor.activateRecipes("org.openrewrite.java.testing.Example").getDescriptor())
+          .usingRecursiveComparison()
+          .ignoringFields("source")
+          .isEqualTo(expected);
+    }
+
+    @Test
+    void descriptorIsSmallerThanTheYaml() throws Exception {
+        long yamlBytes = 0;
+        for (Path file : yamlFiles) {
+            yamlBytes += Files.size(file);
+        }
+        assertThat(Files.size(tempDir.resolve("declarative-recipes.bin"))).isLessThan(yamlBytes);
+    }
+}
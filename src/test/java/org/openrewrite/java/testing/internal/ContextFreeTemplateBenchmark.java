@@ -0,0 +1,130 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.testing.internal;
+
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.InMemoryExecutionContext;
+import org.openrewrite.SourceFile;
+import org.openrewrite.java.JavaIsoVisitor;
+import org.openrewrite.java.JavaParser;
+import org.openrewrite.java.JavaTemplate;
+import org.openrewrite.java.MethodMatcher;
+import org.openrewrite.java.tree.J;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Compares the latency per application of the same rewrite with a context-sensitive template, which compiles a stub
+ * of the enclosing class on each application, and with a context-free template typed by {@link TemplatePlaceholders},
+ * like the one of {@code SimplifyChainedAssertJAssertion}. Each run rewrites {@code assertThat(s.isEmpty()).isTrue()}
+ * to {@code assertThat(s).isEmpty()} in the methods of freshly parsed source files. Run by the
+ * {@code benchmarkContextFreeTemplates} build task, optionally with the number of files and of runs per mode as
+ * arguments.
+ */
+public class ContextFreeTemplateBenchmark {
+    private static final MethodMatcher IS_TRUE = new MethodMatcher("org.assertj.core.api.AbstractBooleanAssert isTrue()");
+    private static final int APPLICATIONS_PER_FILE = 5;
+
+    public static void main(String[] args) {
+        int files = args.length > 0 ? Integer.parseInt(args[0]) : 40;
+        int runs = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+        for (boolean contextSensitive : Arrays.asList(true, false)) {
+            long[] perApplication = new long[runs];
+            for (int i = 0; i < runs; i++) {
+                perApplication[i] = run(files, contextSensitive);
+            }
+            System.out.printf("%-17s %6d ms per application (median of %d runs over %d files)%n",
+                    contextSensitive ? "context-sensitive" : "context-free", median(perApplication) / 1_000_000, runs, files);
+        }
+    }
+
+    private static long run(int files, boolean contextSensitive) {
+        ExecutionContext ctx = new InMemoryExecutionContext(Throwable::printStackTrace);
+        List<SourceFile> sources = JavaParser.fromJavaVersion()
+                .classpathFromResources(ctx, "assertj-core-3.24")
+                .build()
+                .parse(ctx, sources(files))
+                .collect(toList());
+
+        IsEmptyVisitor visitor = new IsEmptyVisitor(contextSensitive);
+        long start = System.nanoTime();
+        for (SourceFile source : sources) {
+            visitor.visit(source, ctx);
+        }
+        long elapsed = System.nanoTime() - start;
+        if (visitor.applications != files * APPLICATIONS_PER_FILE) {
+            throw new IllegalStateException("Expected " + files * APPLICATIONS_PER_FILE + " applications, but made " +
+                                            visitor.applications);
+        }
+        return elapsed / visitor.applications;
+    }
+
+    private static String[] sources(int files) {
+        String[] sources = new String[files];
+        for (int i = 0; i < files; i++) {
+            StringBuilder source = new StringBuilder()
+                    .append("import static org.assertj.core.api.Assertions.assertThat;\n\n")
+                    .append("class Job").append(i).append("Test {\n");
+            for (int j = 0; j < APPLICATIONS_PER_FILE; j++) {
+                source.append("    void test").append(j).append("(String s) {\n")
+                        .append("        assertThat(s.isEmpty()).isTrue();\n")
+                        .append("    }\n");
+            }
+            sources[i] = source.append("}\n").toString();
+        }
+        return sources;
+    }
+
+    private static class IsEmptyVisitor extends JavaIsoVisitor<ExecutionContext> {
+        private final boolean contextSensitive;
+        private int applications;
+
+        IsEmptyVisitor(boolean contextSensitive) {
+            this.contextSensitive = contextSensitive;
+        }
+
+        @Override
+        public J.MethodInvocation visitMethodInvocation(J.MethodInvocation method, ExecutionContext ctx) {
+            J.MethodInvocation mi = super.visitMethodInvocation(method, ctx);
+            if (!IS_TRUE.matches(mi) || !(mi.getSelect() instanceof J.MethodInvocation)) {
+                return mi;
+            }
+            J.MethodInvocation assertThat = (J.MethodInvocation) mi.getSelect();
+            J.MethodInvocation isEmpty = (J.MethodInvocation) assertThat.getArguments().get(0);
+            applications++;
+            return template(ctx).apply(getCursor(), mi.getCoordinates().replace(), isEmpty.getSelect());
+        }
+
+        private JavaTemplate template(ExecutionContext ctx) {
+            JavaTemplate.Builder builder = contextSensitive ?
+                    JavaTemplate.builder("assertThat(#{any()}).isEmpty()").contextSensitive() :
+                    JavaTemplate.builder("assertThat(" + TemplatePlaceholders.any("java.lang.String") + ").isEmpty()");
+            return builder
+                    .staticImports("org.assertj.core.api.Assertions.assertThat")
+                    .javaParser(JavaParser.fromJavaVersion().classpathFromResources(ctx, "assertj-core-3.24"))
+                    .build();
+        }
+    }
+
+    private static long median(long[] values) {
+        long[] sorted = values.clone();
+        Arrays.sort(sorted);
+        return sorted[sorted.length / 2];
+    }
+}
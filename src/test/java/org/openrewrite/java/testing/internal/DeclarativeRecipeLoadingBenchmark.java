@@ -0,0 +1,145 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.testing.internal;
+
+import org.openrewrite.Recipe;
+import org.openrewrite.config.Environment;
+import org.openrewrite.config.YamlResourceLoader;
+
+import java.io.BufferedReader;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.JarURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.*;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.stream.Stream;
+
+/**
+ * Compares how long a fresh JVM takes to activate a declarative recipe of this module, the way a short-lived job that
+ * runs a single recipe does, when the recipes are found by scanning the classpath, loaded from this module's YAML and
+ * loaded from the descriptor compiled at build time. Run by the {@code benchmarkDeclarativeRecipeLoading} build task,
+ * optionally with the recipe name and the number of JVMs per path as arguments.
+ */
+public class DeclarativeRecipeLoadingBenchmark {
+    private static final String FORK = "--fork";
+    private static final List<String> PATHS = Arrays.asList("classpath", "yaml", "compiled");
+
+    public static void main(String[] args) throws Exception {
+        if (args.length == 3 && FORK.equals(args[0])) {
+            long start = System.nanoTime();
+            int recipes = count(activate(args[1], args[2]));
+            System.out.println((System.nanoTime() - start) / 1_000_000 + " " + recipes);
+            return;
+        }
+
+        String recipe = args.length > 0 ? args[0] : "org.openrewrite.java.testing.junit5.JUnit4to5Migration";
+        int forks = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+        String java = Paths.get(System.getProperty("java.home"), "bin", "java").toString();
+        for (String path : PATHS) {
+            long[] activate = new long[forks];
+            long[] process = new long[forks];
+            String recipes = null;
+            for (int i = 0; i < forks; i++) {
+                long start = System.nanoTime();
+                Process p = new ProcessBuilder(java, "-cp", System.getProperty("java.class.path"),
+                        DeclarativeRecipeLoadingBenchmark.class.getName(), FORK, path, recipe)
+                        .redirectErrorStream(true)
+                        .start();
+                String last = null;
+                try (BufferedReader out = new BufferedReader(new InputStreamReader(p.getInputStream(), StandardCharsets.UTF_8))) {
+                    for (String line = out.readLine(); line != null; line = out.readLine()) {
+                        last = line;
+                    }
+                }
+                if (p.waitFor() != 0 || last == null) {
+                    throw new IllegalStateException("Activating " + recipe + " from the " + path + " failed: " + last);
+                }
+                process[i] = (System.nanoTime() - start) / 1_000_000;
+                activate[i] = Long.parseLong(last.split(" ")[0]);
+                recipes = last.split(" ")[1];
+            }
+            System.out.printf("%-9s activate %6d ms, JVM %6d ms (medians of %d JVMs, %s recipes)%n",
+                    path, median(activate), median(process), forks, recipes);
+        }
+    }
+
+    private static Recipe activate(String path, String recipe) throws Exception {
+        Environment.Builder env = Environment.builder();
+        switch (path) {
+            case "classpath":
+                env.scanRuntimeClasspath();
+                break;
+            case "yaml":
+                ClassLoader classLoader = DeclarativeRecipeLoadingBenchmark.class.getClassLoader();
+                for (String resource : yamlResources()) {
+                    try (InputStream in = Objects.requireNonNull(classLoader.getResourceAsStream(resource))) {
+                        env.load(new YamlResourceLoader(in, Objects.requireNonNull(classLoader.getResource(resource)).toURI(),
+                                new Properties(), classLoader));
+                    }
+                }
+                break;
+            case "compiled":
+                env.load(new CompiledDeclarativeRecipeLoader());
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown path " + path + ", expected one of " + PATHS);
+        }
+        return env.build().activateRecipes(recipe);
+    }
+
+    private static List<String> yamlResources() throws Exception {
+        String dir = CompiledDeclarativeRecipeLoader.RESOURCE_DIRECTORY;
+        URL anchor = Objects.requireNonNull(DeclarativeRecipeLoadingBenchmark.class.getClassLoader().getResource(dir + "junit5.yml"));
+        List<String> resources = new ArrayList<>();
+        if (anchor.openConnection() instanceof JarURLConnection) {
+            JarURLConnection connection = (JarURLConnection) anchor.openConnection();
+            connection.setUseCaches(false);
+            try (JarFile jar = connection.getJarFile()) {
+                for (JarEntry entry : Collections.list(jar.entries())) {
+                    String name = entry.getName();
+                    if (name.startsWith(dir) && name.endsWith(".yml") && name.indexOf('/', dir.length()) < 0) {
+                        resources.add(name);
+                    }
+                }
+            }
+        } else {
+            try (Stream<Path> list = Files.list(Paths.get(anchor.toURI()).getParent())) {
+                list.filter(p -> p.toString().endsWith(".yml")).forEach(p -> resources.add(dir + p.getFileName()));
+            }
+        }
+        return resources;
+    }
+
+    private static int count(Recipe recipe) {
+        int count = 1;
+        for (Recipe r : recipe.getRecipeList()) {
+            count += count(r);
+        }
+        return count;
+    }
+
+    private static long median(long[] values) {
+        long[] sorted = values.clone();
+        Arrays.sort(sorted);
+        return sorted[sorted.length / 2];
+    }
+}
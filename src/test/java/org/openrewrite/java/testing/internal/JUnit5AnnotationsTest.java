@@ -0,0 +1,125 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.testing.internal;
+
+import org.junit.jupiter.api.Test;
+import org.openrewrite.InMemoryExecutionContext;
+import org.openrewrite.java.JavaParser;
+import org.openrewrite.java.testing.internal.JUnit5Annotations.MethodRoles;
+import org.openrewrite.java.testing.internal.JUnit5Annotations.Role;
+import org.openrewrite.java.tree.J;
+
+import java.util.Collections;
+import java.util.List;
+
+import static java.util.stream.Collectors.toList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JUnit5AnnotationsTest {
+
+    @Test
+    void classifiesMethodsByTheirAnnotations() {
+        List<J.MethodDeclaration> methods = methods(
+          //language=java
+          """
+            import org.junit.jupiter.api.BeforeEach;
+            import org.junit.jupiter.api.Disabled;
+            import org.junit.jupiter.api.Test;
+            import org.junit.jupiter.params.ParameterizedTest;
+
+            class ATest {
+                @BeforeEach
+                void setUp() {
+                }
+
+                @Disabled
+                @Test
+                void disabled() {
+                }
+
+                public @ParameterizedTest void parameterized(int i) {
+                }
+
+                @Deprecated
+                void helper() {
+                }
+            }
+            """
+        );
+
+        MethodRoles setUp = JUnit5Annotations.of(methods.get(0));
+        assertThat(setUp.has(Role.BEFORE_EACH)).isTrue();
+        assertThat(setUp.hasAny(JUnit5Annotations.LIFECYCLE)).isTrue();
+        assertThat(setUp.hasAny(JUnit5Annotations.TESTS)).isFalse();
+
+        MethodRoles disabled = JUnit5Annotations.of(methods.get(1));
+        assertThat(disabled.has(Role.TEST)).isTrue();
+        assertThat(disabled.has(Role.DISABLED)).isTrue();
+
+        // annotations placed among the modifiers count too
+        assertThat(JUnit5Annotations.of(methods.get(2)).has(Role.PARAMETERIZED_TEST)).isTrue();
+
+        MethodRoles helper = JUnit5Annotations.of(methods.get(3));
+        assertThat(helper.hasAny(JUnit5Annotations.TESTS) || helper.hasAny(JUnit5Annotations.LIFECYCLE)).isFalse();
+
+        J.MethodDeclaration enabled = methods.get(1).withLeadingAnnotations(
+          Collections.singletonList(methods.get(1).getLeadingAnnotations().get(1)));
+        assertThat(JUnit5Annotations.of(enabled).has(Role.DISABLED)).isFalse();
+        assertThat(JUnit5Annotations.of(enabled).has(Role.TEST)).isTrue();
+    }
+
+    @Test
+    void classifiesJUnit4AnnotationsOfMethodTypesOnRequest() {
+        List<J.MethodDeclaration> methods = methods(
+          //language=java
+          """
+            import org.junit.Before;
+            import org.junit.Test;
+
+            class ATest {
+                @Before
+                public void setUp() {
+                }
+
+                @Test
+                public void test() {
+                }
+            }
+            """
+        );
+
+        //noinspection DataFlowIssue
+        assertThat(JUnit5Annotations.of(methods.get(0).getMethodType(), true).has(Role.BEFORE_EACH)).isTrue();
+        //noinspection DataFlowIssue
+        assertThat(JUnit5Annotations.of(methods.get(1).getMethodType(), true).has(Role.TEST)).isTrue();
+        //noinspection DataFlowIssue
+        assertThat(JUnit5Annotations.of(methods.get(1).getMethodType(), false).has(Role.TEST)).isFalse();
+        assertThat(JUnit5Annotations.of(methods.get(1)).has(Role.TEST)).isFalse();
+    }
+
+    private static List<J.MethodDeclaration> methods(String source) {
+        J.CompilationUnit cu = JavaParser.fromJavaVersion()
+          .classpathFromResources(new InMemoryExecutionContext(), "junit-4.13", "junit-jupiter-api-5.9", "junit-jupiter-params-5.9")
+          .build()
+          .parse(source)
+          .map(J.CompilationUnit.class::cast)
+          .findFirst()
+          .orElseThrow();
+        return cu.getClasses().get(0).getBody().getStatements().stream()
+          .map(J.MethodDeclaration.class::cast)
+          .collect(toList());
+    }
+}
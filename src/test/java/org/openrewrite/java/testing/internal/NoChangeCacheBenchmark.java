@@ -0,0 +1,108 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.testing.internal;
+
+import org.openrewrite.*;
+import org.openrewrite.config.Environment;
+import org.openrewrite.internal.InMemoryLargeSourceSet;
+import org.openrewrite.java.JavaParser;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Compares the time a run of a recipe takes over source files it leaves unchanged, without the {@link NoChangeCache},
+ * with an empty cache, and with the cache filled by the previous run. Each mode runs on the same parsed JUnit 5 test
+ * classes using AssertJ, after a plain run to warm up the JVM. Run by the {@code benchmarkNoChangeCache} build task,
+ * optionally with the recipe name, the number of files and the number of runs per mode as arguments.
+ */
+public class NoChangeCacheBenchmark {
+    private static final int TESTS_PER_FILE = 5;
+
+    public static void main(String[] args) throws Exception {
+        String name = args.length > 0 ? args[0] : "org.openrewrite.java.testing.assertj.Assertj";
+        int files = args.length > 1 ? Integer.parseInt(args[1]) : 100;
+        int runs = args.length > 2 ? Integer.parseInt(args[2]) : 5;
+
+        Recipe recipe = Environment.builder()
+                .scanRuntimeClasspath("org.openrewrite.java.testing")
+                .build()
+                .activateRecipes(name);
+        List<SourceFile> sources = JavaParser.fromJavaVersion()
+                .classpathFromResources(new InMemoryExecutionContext(), "junit-jupiter-api-5.9", "assertj-core-3.24")
+                .build()
+                .parse(new InMemoryExecutionContext(), sources(files))
+                .collect(toList());
+        run(recipe, sources);
+
+        long[] plain = new long[runs];
+        long[] empty = new long[runs];
+        long[] filled = new long[runs];
+        for (int i = 0; i < runs; i++) {
+            plain[i] = run(recipe, sources);
+            Path directory = Files.createTempDirectory("no-change-cache");
+            Recipe cached = NoChangeCache.open(directory, 64 * 1024 * 1024).wrap(recipe);
+            empty[i] = run(cached, sources);
+            filled[i] = run(cached, sources);
+        }
+        System.out.printf("%-12s %6d ms%n", "plain", median(plain));
+        System.out.printf("%-12s %6d ms%n", "empty cache", median(empty));
+        System.out.printf("%-12s %6d ms%n", "filled cache", median(filled));
+        System.out.printf("(medians of %d runs of %s over %d unchanged files)%n", runs, name, files);
+    }
+
+    private static long run(Recipe recipe, List<SourceFile> sources) {
+        ExecutionContext ctx = new InMemoryExecutionContext(Throwable::printStackTrace);
+        long start = System.nanoTime();
+        List<Result> results = recipe.run(new InMemoryLargeSourceSet(sources), ctx).getChangeset().getAllResults();
+        long elapsed = System.nanoTime() - start;
+        if (!results.isEmpty()) {
+            throw new IllegalStateException(recipe.getName() + " changed " + results.get(0).getBefore().getSourcePath() +
+                                            ", but the benchmark needs source files it leaves unchanged");
+        }
+        return elapsed / 1_000_000;
+    }
+
+    private static String[] sources(int files) {
+        String[] sources = new String[files];
+        for (int i = 0; i < files; i++) {
+            StringBuilder source = new StringBuilder()
+                    .append("import org.junit.jupiter.api.Test;\n\n")
+                    .append("import java.util.List;\n\n")
+                    .append("import static org.assertj.core.api.Assertions.assertThat;\n\n")
+                    .append("class Job").append(i).append("Test {\n");
+            for (int j = 0; j < TESTS_PER_FILE; j++) {
+                source.append("    @Test\n")
+                        .append("    void test").append(j).append("(String s, List<String> l) {\n")
+                        .append("        assertThat(s).isEqualTo(\"").append(j).append("\");\n")
+                        .append("        assertThat(l).hasSize(").append(j + 1).append(");\n")
+                        .append("    }\n");
+            }
+            sources[i] = source.append("}\n").toString();
+        }
+        return sources;
+    }
+
+    private static long median(long[] values) {
+        long[] sorted = values.clone();
+        Arrays.sort(sorted);
+        return sorted[sorted.length / 2];
+    }
+}
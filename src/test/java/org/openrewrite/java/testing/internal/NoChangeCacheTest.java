@@ -0,0 +1,232 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.testing.internal;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.InMemoryExecutionContext;
+import org.openrewrite.Recipe;
+import org.openrewrite.config.Environment;
+import org.openrewrite.config.YamlResourceLoader;
+import org.openrewrite.java.JavaIsoVisitor;
+import org.openrewrite.java.JavaParser;
+import org.openrewrite.java.testing.junit5.AssertTrueInstanceofToAssertInstanceOf;
+import org.openrewrite.java.tree.J;
+import org.openrewrite.test.RecipeSpec;
+import org.openrewrite.test.RewriteTest;
+
+import java.io.ByteArrayInputStream;
+import java.lang.ref.WeakReference;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.openrewrite.java.Assertions.java;
+
+class NoChangeCacheTest implements RewriteTest {
+
+    @TempDir
+    Path cacheDir;
+
+    @Override
+    public void defaults(RecipeSpec spec) {
+        spec
+          .parser(JavaParser.fromJavaVersion()
+            .classpathFromResources(new InMemoryExecutionContext(), "junit-jupiter-api-5.9"))
+          .validateRecipeSerialization(false);
+    }
+
+    @Test
+    void skipsRecipesThatMadeNoChange() {
+        AtomicInteger visits = new AtomicInteger();
+        NoChangeCache cache = NoChangeCache.open(cacheDir, 1024 * 1024);
+        for (int run = 0; run < 2; run++) {
+            rewriteRun(
+              spec -> spec.recipe(cache.wrap(RewriteTest.toRecipe(() -> new JavaIsoVisitor<ExecutionContext>() {
+                  @Override
+                  public J.CompilationUnit visitCompilationUnit(J.CompilationUnit cu, ExecutionContext ctx) {
+                      visits.incrementAndGet();
+                      return cu;
+                  }
+              }))),
+              //language=java
+              java(
+                """
+                  class A {
+                  }
+                  """
+              )
+            );
+        }
+        assertThat(visits).hasValue(1);
+    }
+
+    @Test
+    void changesAreNotCached() {
+        NoChangeCache cache = NoChangeCache.open(cacheDir, 1024 * 1024);
+        for (int run = 0; run < 2; run++) {
+            rewriteRun(
+              spec -> spec.recipe(cache.wrap(new AssertTrueInstanceofToAssertInstanceOf())),
+              //language=java
+              java(
+                """
+                  import static org.junit.jupiter.api.Assertions.assertTrue;
+
+                  class ATest {
+                      void test(Object o) {
+                          assertTrue(o instanceof String);
+                      }
+                  }
+                  """,
+                """
+                  import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+
+                  class ATest {
+                      void test(Object o) {
+                          assertInstanceOf(String.class, o);
+                      }
+                  }
+                  """
+              )
+            );
+        }
+    }
+
+    @Test
+    void gatedAndUngatedInstancesOfARecipeDoNotShareOutcomes() {
+        NoChangeCache cache = NoChangeCache.open(cacheDir, 1024 * 1024);
+        rewriteRun(
+          spec -> spec.recipe(cache.wrap(gatedBy("**/Other.java"))),
+          //language=java
+          java(ASSERT_TRUE_INSTANCEOF)
+        );
+        rewriteRun(
+          spec -> spec.recipe(cache.wrap(new AssertTrueInstanceofToAssertInstanceOf())),
+          //language=java
+          java(ASSERT_TRUE_INSTANCEOF, ASSERT_INSTANCE_OF)
+        );
+    }
+
+    @Test
+    void preconditionsAreEvaluatedOnEveryRun() {
+        NoChangeCache cache = NoChangeCache.open(cacheDir, 1024 * 1024);
+        for (int run = 0; run < 2; run++) {
+            rewriteRun(
+              spec -> spec.recipe(cache.wrap(gatedBy("**/ATest.java"))),
+              //language=java
+              java(ASSERT_TRUE_INSTANCEOF, ASSERT_INSTANCE_OF)
+            );
+        }
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedKeysOverSizeLimit() throws Exception {
+        NoChangeCache cache = NoChangeCache.open(cacheDir.resolve("small"), 65 * 4);
+        for (String key : new String[]{"a", "b", "c", "d"}) {
+            cache.record(key(key));
+        }
+        assertThat(cache.contains(key("a"))).isTrue();
+        cache.record(key("e"));
+
+        assertThat(Files.size(cacheDir.resolve("small/no-change.log"))).isLessThanOrEqualTo(65 * 4);
+        assertThat(cache.contains(key("a"))).isTrue();
+        assertThat(cache.contains(key("e"))).isTrue();
+        assertThat(cache.contains(key("b"))).isFalse();
+    }
+
+    @Test
+    void rejectsAnotherSizeLimitForAnOpenCache() {
+        NoChangeCache cache = NoChangeCache.open(cacheDir, 1024 * 1024);
+        assertThat(NoChangeCache.open(cacheDir, 1024 * 1024)).isSameAs(cache);
+        assertThatIllegalArgumentException().isThrownBy(() -> NoChangeCache.open(cacheDir, 1024));
+    }
+
+    @Test
+    void contentHashesDoNotKeepTheSourceFileInMemory() throws InterruptedException {
+        ExecutionContext ctx = new InMemoryExecutionContext();
+        WeakReference<J.CompilationUnit> parsed = new WeakReference<>(JavaParser.fromJavaVersion()
+          .build()
+          .parse(
+            //language=java
+            """
+              class A {
+              }
+              """
+          )
+          .map(J.CompilationUnit.class::cast)
+          .peek(cu -> assertThat(NoChangeCache.contentHash(cu, ctx)).isEqualTo(NoChangeCache.contentHash(cu, ctx)))
+          .findFirst()
+          .orElseThrow());
+
+        for (int i = 0; i < 50 && parsed.get() != null; i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+        assertThat(parsed.get()).isNull();
+    }
+
+    //language=java
+    private static final String ASSERT_TRUE_INSTANCEOF = """
+      import static org.junit.jupiter.api.Assertions.assertTrue;
+
+      class ATest {
+          void test(Object o) {
+              assertTrue(o instanceof String);
+          }
+      }
+      """;
+
+    //language=java
+    private static final String ASSERT_INSTANCE_OF = """
+      import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+
+      class ATest {
+          void test(Object o) {
+              assertInstanceOf(String.class, o);
+          }
+      }
+      """;
+
+    private static Recipe gatedBy(String filePattern) {
+        //language=yaml
+        String yaml = """
+          type: specs.openrewrite.org/v1beta/recipe
+          name: org.openrewrite.java.testing.Gated
+          displayName: Gated
+          description: Gated by a precondition.
+          preconditions:
+            - org.openrewrite.FindSourceFiles:
+                filePattern: "%s"
+          recipeList:
+            - org.openrewrite.java.testing.junit5.AssertTrueInstanceofToAssertInstanceOf
+          """.formatted(filePattern);
+        return Environment.builder()
+          .load(new YamlResourceLoader(new ByteArrayInputStream(yaml.getBytes(StandardCharsets.UTF_8)),
+            URI.create("rewrite.yml"), new Properties()))
+          .build()
+          .activateRecipes("org.openrewrite.java.testing.Gated");
+    }
+
+    private static String key(String c) {
+        return c.repeat(64);
+    }
+}
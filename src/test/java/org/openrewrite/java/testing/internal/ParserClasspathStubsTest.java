@@ -0,0 +1,302 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.testing.internal;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.Opcodes;
+import org.openrewrite.*;
+import org.openrewrite.config.Environment;
+import org.openrewrite.internal.InMemoryLargeSourceSet;
+import org.openrewrite.java.JavaParser;
+import org.openrewrite.java.JavaParserExecutionContextView;
+import org.openrewrite.java.search.FindMissingTypes;
+import org.openrewrite.java.tree.Flag;
+import org.openrewrite.java.tree.J;
+import org.openrewrite.java.tree.JavaType;
+import org.openrewrite.java.tree.TypeUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.*;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import static java.util.Objects.requireNonNull;
+import static java.util.stream.Collectors.toList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ParserClasspathStubsTest {
+    private static final Path PARSER_CLASSPATH = Paths.get("src/main/resources/META-INF/rewrite/classpath");
+
+    @TempDir
+    static Path stubs;
+
+    @BeforeAll
+    static void stubParserClasspath() throws IOException {
+        for (Path jar : jars()) {
+            ParserClasspathStubs.stub(jar, stubs.resolve(jar.getFileName()));
+        }
+    }
+
+    static List<Path> jars() throws IOException {
+        return ParserClasspathStubs.jars(PARSER_CLASSPATH);
+    }
+
+    @ParameterizedTest
+    @MethodSource("jars")
+    void stubsTypeAttributeLikeTheJars(Path jar) throws IOException {
+        Path stub = stubs.resolve(jar.getFileName());
+        assertThat(Files.size(stub)).isLessThan(Files.size(jar));
+
+        List<String> publicClasses = publicTopLevelClasses(jar);
+        assertThat(publicClasses).isNotEmpty();
+        StringBuilder source = new StringBuilder("class Api {\n");
+        for (int i = 0; i < publicClasses.size(); i++) {
+            source.append("    ").append(publicClasses.get(i)).append(" api").append(i).append(";\n");
+        }
+        source.append("}\n");
+
+        // the other jars provide the supertypes it doesn't declare itself, unless they declare some of its classes,
+        // like another version of the same library would
+        Set<String> classes = classes(jar);
+        List<Path> jars = new ArrayList<>();
+        jars.add(jar);
+        for (Path other : ParserClasspathStubs.jars(PARSER_CLASSPATH)) {
+            if (!other.equals(jar) && Collections.disjoint(classes, classes(other))) {
+                jars.add(other);
+            }
+        }
+        List<Path> stubJars = jars.stream().map(j -> stubs.resolve(j.getFileName())).collect(toList());
+
+        assertThat(api(stubJars, source.toString()))
+          .as("API of %s", jar.getFileName())
+          .containsExactlyEntriesOf(api(jars, source.toString()));
+    }
+
+    /**
+     * The templates of this module resolve their classpath resources through the download target of the context, which
+     * holds only the stubs here, so each recipe has to make the same changes with the same types as with the jars.
+     */
+    @ParameterizedTest
+    @MethodSource("templatedRecipes")
+    void templatesOfTheRecipesCompileAgainstTheStubs(String recipe, String[] classpath, String source) throws IOException {
+        Path jarsTarget = Files.createDirectories(stubs.resolve("jars-" + recipe));
+        Path stubsTarget = Files.createDirectories(stubs.resolve("stubs-" + recipe));
+        Map<Path, Long> stubSizes = new LinkedHashMap<>();
+        for (Path jar : jars()) {
+            Path stub = stubsTarget.resolve(jar.getFileName());
+            Files.copy(stubs.resolve(jar.getFileName()), stub);
+            stubSizes.put(stub, Files.size(stub));
+        }
+
+        List<String> withJars = run(recipe, classpath, source, jarsTarget);
+        assertThat(withJars).as("changes of %s", recipe).isNotEmpty();
+        assertThat(run(recipe, classpath, source, stubsTarget)).containsExactlyElementsOf(withJars);
+        assertThat(ParserClasspathStubs.jars(stubsTarget))
+          .as("no jar was extracted next to the stubs")
+          .containsExactlyElementsOf(stubSizes.keySet())
+          .allSatisfy(stub -> assertThat(Files.size(stub)).isEqualTo(stubSizes.get(stub)));
+    }
+
+    static Stream<Arguments> templatedRecipes() {
+        return Stream.of(
+          Arguments.of("org.openrewrite.java.testing.junit5.JUnit4to5Migration",
+            new String[]{"junit-4.13", "hamcrest-2.2", "mockito-core-3.12"},
+            //language=java
+            """
+              import org.junit.Ignore;
+              import org.junit.Rule;
+              import org.junit.Test;
+              import org.junit.rules.ExpectedException;
+              import org.junit.rules.TemporaryFolder;
+              import org.junit.runner.RunWith;
+              import org.mockito.junit.MockitoJUnitRunner;
+
+              import java.io.File;
+              import java.io.IOException;
+
+              import static org.junit.Assert.assertEquals;
+              import static org.junit.Assert.assertTrue;
+
+              @RunWith(MockitoJUnitRunner.class)
+              public class LegacyTest {
+                  @Rule
+                  public ExpectedException thrown = ExpectedException.none();
+
+                  @Rule
+                  public TemporaryFolder folder = new TemporaryFolder();
+
+                  @Test(expected = IllegalArgumentException.class)
+                  public void expected() {
+                      throw new IllegalArgumentException("boom");
+                  }
+
+                  @Test
+                  public void throwsWithMessage() {
+                      thrown.expect(IllegalStateException.class);
+                      thrown.expectMessage("boom");
+                      throw new IllegalStateException("boom");
+                  }
+
+                  @Ignore("not yet")
+                  @Test(timeout = 500)
+                  public void createsFile() throws IOException {
+                      File file = folder.newFile("a.txt");
+                      assertTrue(file.exists());
+                      assertEquals("message", 1, 1);
+                  }
+              }
+              """),
+          Arguments.of("org.openrewrite.java.testing.assertj.Assertj",
+            new String[]{"junit-jupiter-api-5.9", "assertj-core-3.24"},
+            //language=java
+            """
+              import java.util.List;
+
+              import static org.junit.jupiter.api.Assertions.*;
+
+              class AssertionsTest {
+                  void assertions(List<String> list, String s, Object o) {
+                      assertEquals(1, list.size());
+                      assertTrue(s.isEmpty(), "empty");
+                      assertFalse(list.contains(s));
+                      assertNotNull(o);
+                      assertSame(o, s);
+                      assertArrayEquals(new int[]{1}, new int[]{1});
+                      assertThrows(IllegalStateException.class, () -> {
+                          throw new IllegalStateException();
+                      });
+                      fail("unreachable");
+                  }
+              }
+              """),
+          Arguments.of("org.openrewrite.java.testing.hamcrest.MigrateHamcrestToAssertJ",
+            new String[]{"junit-jupiter-api-5.9", "hamcrest-2.2"},
+            //language=java
+            """
+              import java.util.List;
+
+              import static org.hamcrest.MatcherAssert.assertThat;
+              import static org.hamcrest.Matchers.*;
+
+              class HamcrestTest {
+                  void matchers(List<String> list, String s) {
+                      assertThat(s, equalTo("a"));
+                      assertThat(s, not(emptyString()));
+                      assertThat(list, hasSize(2));
+                      assertThat(s, anyOf(startsWith("a"), endsWith("b")));
+                      assertThat("reason", list.isEmpty());
+                  }
+              }
+              """)
+        );
+    }
+
+    private static List<String> run(String recipeName, String[] classpath, String source, Path downloadTarget) {
+        List<Throwable> errors = new ArrayList<>();
+        ExecutionContext ctx = new InMemoryExecutionContext(errors::add);
+        JavaParserExecutionContextView.view(ctx).setParserClasspathDownloadTarget(downloadTarget.toFile());
+        List<SourceFile> sources = JavaParser.fromJavaVersion()
+          .classpathFromResources(new InMemoryExecutionContext(), classpath)
+          .build()
+          .parse(ctx, source)
+          .collect(toList());
+        Recipe recipe = Environment.builder()
+          .scanRuntimeClasspath("org.openrewrite.java.testing")
+          .build()
+          .activateRecipes(recipeName);
+
+        List<String> changes = new ArrayList<>();
+        for (Result result : recipe.run(new InMemoryLargeSourceSet(sources), ctx).getChangeset().getAllResults()) {
+            SourceFile after = requireNonNull(result.getAfter());
+            changes.add(after.printAll());
+            for (FindMissingTypes.MissingTypeResult missing : FindMissingTypes.findMissingTypes((J) after)) {
+                changes.add(missing.getMessage() + ": " + missing.getPrintedTree());
+            }
+        }
+        assertThat(errors).as("errors of %s", recipeName).isEmpty();
+        return changes;
+    }
+
+    private static Map<String, List<String>> api(List<Path> classpath, String source) {
+        J.CompilationUnit cu = (J.CompilationUnit) JavaParser.fromJavaVersion()
+          .classpath(classpath)
+          .build()
+          .parse(new InMemoryExecutionContext(), source)
+          .findFirst()
+          .orElseThrow();
+        Map<String, List<String>> api = new LinkedHashMap<>();
+        for (JavaType.Variable field : requireNonNull(cu.getClasses().get(0).getType()).getMembers()) {
+            JavaType.FullyQualified type = TypeUtils.asFullyQualified(field.getType());
+            if (type == null) {
+                // e.g. a class of mockito-core extending one of the byte-buddy jar that isn't on the parser classpath
+                api.put(field.getName(), Collections.singletonList(String.valueOf(field.getType())));
+                continue;
+            }
+            List<String> signatures = new ArrayList<>();
+            signatures.add("extends " + type.getSupertype());
+            signatures.add("implements " + type.getInterfaces());
+            for (JavaType.Method method : type.getMethods()) {
+                if (!method.hasFlags(Flag.Private)) {
+                    signatures.add(method.toString());
+                }
+            }
+            for (JavaType.Variable member : type.getMembers()) {
+                if (!member.hasFlags(Flag.Private)) {
+                    signatures.add(member.toString());
+                }
+            }
+            api.put(type.getFullyQualifiedName(), signatures);
+        }
+        return api;
+    }
+
+    private static Set<String> classes(Path jar) throws IOException {
+        Set<String> classes = new HashSet<>();
+        try (ZipInputStream in = new ZipInputStream(Files.newInputStream(jar))) {
+            for (ZipEntry entry = in.getNextEntry(); entry != null; entry = in.getNextEntry()) {
+                String name = entry.getName();
+                if (name.endsWith(".class") && !name.startsWith("META-INF/") && !name.endsWith("module-info.class")) {
+                    classes.add(name);
+                }
+            }
+        }
+        return classes;
+    }
+
+    private static List<String> publicTopLevelClasses(Path jar) throws IOException {
+        List<String> classes = new ArrayList<>();
+        try (ZipInputStream in = new ZipInputStream(Files.newInputStream(jar))) {
+            for (ZipEntry entry = in.getNextEntry(); entry != null; entry = in.getNextEntry()) {
+                String name = entry.getName();
+                if (name.endsWith(".class") && !name.contains("$") && !name.startsWith("META-INF/") &&
+                    !name.endsWith("module-info.class") && !name.endsWith("package-info.class") &&
+                    (new ClassReader(in).getAccess() & Opcodes.ACC_PUBLIC) != 0) {
+                    classes.add(name.substring(0, name.length() - ".class".length()).replace('/', '.'));
+                }
+            }
+        }
+        return classes;
+    }
+}
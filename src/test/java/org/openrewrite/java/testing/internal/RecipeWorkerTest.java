@@ -0,0 +1,188 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.testing.internal;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledOnOs;
+import org.junit.jupiter.api.condition.OS;
+import org.junit.jupiter.api.io.TempDir;
+import org.openrewrite.InMemoryExecutionContext;
+import org.openrewrite.java.JavaParser;
+
+import java.io.*;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermission;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RecipeWorkerTest {
+    private static final ObjectMapper JSON = new ObjectMapper();
+    private static final String ASSERT_TO_ASSERTIONS = "org.openrewrite.java.testing.junit5.AssertToAssertions";
+
+    //language=java
+    private static final String BEFORE = """
+      import static org.junit.Assert.assertEquals;
+
+      class MyTest {
+          void foo() {
+              assertEquals("a", "a");
+          }
+      }
+      """;
+
+    //language=java
+    private static final String AFTER = """
+      import static org.junit.jupiter.api.Assertions.assertEquals;
+
+      class MyTest {
+          void foo() {
+              assertEquals("a", "a");
+          }
+      }
+      """;
+
+    static RecipeWorker worker;
+    static Thread serving;
+
+    @TempDir
+    static Path workerDir;
+
+    static Path tokenFile;
+
+    @TempDir
+    Path project;
+
+    Path source;
+
+    @BeforeAll
+    static void start() throws IOException {
+        tokenFile = workerDir.resolve("token");
+        worker = new RecipeWorker(0, tokenFile);
+        serving = new Thread(() -> {
+            try {
+                worker.serve();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        serving.start();
+    }
+
+    @AfterAll
+    static void stop() throws Exception {
+        if (worker == null) {
+            return;
+        }
+        RecipeWorker.submit(worker.getPort(), tokenFile, JSON.createObjectNode().put("shutdown", true));
+        serving.join();
+        worker.close();
+        assertThat(tokenFile).doesNotExist();
+    }
+
+    @BeforeEach
+    void writeSource() throws IOException {
+        source = project.resolve("src/test/java/MyTest.java");
+        Files.createDirectories(source.getParent());
+        Files.writeString(source, BEFORE);
+    }
+
+    @Test
+    void runsJobsAgainstTheSameWarmWorker() throws IOException {
+        JsonNode first = RecipeWorker.submit(worker.getPort(), tokenFile, job(ASSERT_TO_ASSERTIONS));
+        assertThat(first.get("errors")).isEmpty();
+        assertThat(first.get("changed")).extracting(JsonNode::asText).containsExactly("src/test/java/MyTest.java");
+        assertThat(source).hasContent(AFTER);
+
+        JsonNode second = RecipeWorker.submit(worker.getPort(), tokenFile, job(ASSERT_TO_ASSERTIONS));
+        assertThat(second.get("errors")).isEmpty();
+        assertThat(second.get("changed")).isEmpty();
+    }
+
+    @Test
+    void dryRunAnswersWithDiffs() throws IOException {
+        JsonNode response = RecipeWorker.submit(worker.getPort(), tokenFile, job(ASSERT_TO_ASSERTIONS).put("dryRun", true));
+        assertThat(response.get("errors")).isEmpty();
+        assertThat(response.get("diffs")).singleElement().extracting(JsonNode::asText).asString()
+          .contains("+import static org.junit.jupiter.api.Assertions.assertEquals;");
+        assertThat(source).hasContent(BEFORE);
+    }
+
+    @Test
+    void reportsUnknownRecipes() throws IOException {
+        JsonNode response = RecipeWorker.submit(worker.getPort(), tokenFile, job("org.openrewrite.java.testing.DoesNotExist"));
+        assertThat(response.get("errors")).isNotEmpty();
+        assertThat(source).hasContent(BEFORE);
+    }
+
+    @Test
+    void answersMalformedJobsWithAnErrorAndKeepsServing() throws IOException {
+        assertThat(JSON.readTree(send("{\"recipe\": ")).get("errors"))
+          .singleElement().extracting(JsonNode::asText).asString().startsWith("Malformed job");
+
+        JsonNode response = RecipeWorker.submit(worker.getPort(), tokenFile, job(ASSERT_TO_ASSERTIONS));
+        assertThat(response.get("errors")).isEmpty();
+        assertThat(source).hasContent(AFTER);
+    }
+
+    @Test
+    void rejectsJobsWithoutTheToken() throws IOException {
+        assertThat(JSON.readTree(send(JSON.writeValueAsString(job(ASSERT_TO_ASSERTIONS)))).get("errors"))
+          .singleElement().extracting(JsonNode::asText).asString().startsWith("Missing or wrong token");
+        assertThat(JSON.readTree(send(JSON.writeValueAsString(job(ASSERT_TO_ASSERTIONS).put("token", "guess")))).get("errors"))
+          .singleElement().extracting(JsonNode::asText).asString().startsWith("Missing or wrong token");
+        assertThat(JSON.readTree(send("{\"shutdown\": true}")).get("errors")).isNotEmpty();
+        assertThat(source).hasContent(BEFORE);
+    }
+
+    @Test
+    @DisabledOnOs(OS.WINDOWS)
+    void onlyTheOwnerCanReadTheToken() throws IOException {
+        assertThat(Files.getPosixFilePermissions(tokenFile))
+          .containsExactlyInAnyOrder(PosixFilePermission.OWNER_READ, PosixFilePermission.OWNER_WRITE);
+    }
+
+    private static String send(String line) throws IOException {
+        try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), worker.getPort());
+             Writer out = new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8);
+             BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8))) {
+            out.write(line + "\n");
+            out.flush();
+            return in.readLine();
+        }
+    }
+
+    private ObjectNode job(String recipe) {
+        ObjectNode job = JSON.createObjectNode()
+          .put("recipe", recipe)
+          .put("root", project.toString());
+        ArrayNode classpath = job.putArray("classpath");
+        for (Path jar : JavaParser.dependenciesFromResources(new InMemoryExecutionContext(), "junit-4.13", "hamcrest-2.2")) {
+            classpath.add(jar.toString());
+        }
+        return job;
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.testing.internal;
+
+import org.jspecify.annotations.Nullable;
+import org.junit.jupiter.api.Test;
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.InMemoryExecutionContext;
+import org.openrewrite.SourceFile;
+import org.openrewrite.Tree;
+import org.openrewrite.TreeVisitor;
+import org.openrewrite.java.JavaParser;
+import org.openrewrite.java.tree.J;
+import org.openrewrite.test.RewriteTest;
+
+import java.lang.ref.WeakReference;
+
+import static java.util.Objects.requireNonNull;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.openrewrite.maven.Assertions.pomXml;
+import static org.openrewrite.test.RewriteTest.toRecipe;
+
+class ScanFactsTest implements RewriteTest {
+
+    @Test
+    void factsAreSharedUntilTheSourceFileChanges() {
+        ExecutionContext ctx = new InMemoryExecutionContext();
+        J.CompilationUnit cu = JavaParser.fromJavaVersion()
+          .classpathFromResources(ctx, "junit-4", "hamcrest")
+          .build()
+          .parse(
+            //language=java
+            """
+              import static org.junit.Assert.assertThat;
+
+              class ATest extends BaseTest {
+                  void test() {
+                      class LocalTest extends BaseTest {
+                      }
+                      assertThat("a", org.hamcrest.CoreMatchers.is("a"));
+                  }
+              }
+              class BaseTest {
+              }
+              """
+          )
+          .map(J.CompilationUnit.class::cast)
+          .findFirst()
+          .orElseThrow();
+
+        ScanFacts facts = ScanFacts.of(cu, ctx);
+        assertThat(facts.getExtendedClasses()).containsExactly("BaseTest");
+        assertThat(facts.isUsingJUnit4AssertThat()).isTrue();
+        assertThat(ScanFacts.of(cu, ctx)).isSameAs(facts);
+        assertThat(ScanFacts.of(cu.withClasses(cu.getClasses().subList(1, 2)), ctx).getExtendedClasses()).isEmpty();
+    }
+
+    @Test
+    void buildFileFactsAreGatheredOnce() {
+        // the dependency insight behind the Mockito facts writes to a data table, so it needs a recipe run
+        rewriteRun(
+          spec -> spec.recipe(toRecipe(() -> new TreeVisitor<>() {
+              @Override
+              public Tree visit(@Nullable Tree tree, ExecutionContext ctx) {
+                  SourceFile pom = (SourceFile) requireNonNull(tree);
+                  assertThat(ScanFacts.isBuildFile(pom)).isTrue();
+                  ScanFacts facts = ScanFacts.of(pom, ctx);
+                  assertThat(facts.isResolvingMockitoBefore2_17()).isTrue();
+                  assertThat(facts.isDeclaringMockitoAll()).isTrue();
+                  assertThat(facts.getExtendedClasses()).isEmpty();
+                  assertThat(ScanFacts.of(pom, ctx)).isSameAs(facts);
+                  return tree;
+              }
+          })),
+          //language=xml
+          pomXml(
+            """
+              <project>
+                  <groupId>com.example</groupId>
+                  <artifactId>demo</artifactId>
+                  <version>1.0.0</version>
+                  <dependencies>
+                      <dependency>
+                          <groupId>org.mockito</groupId>
+                          <artifactId>mockito-all</artifactId>
+                          <version>1.10.19</version>
+                          <scope>test</scope>
+                      </dependency>
+                  </dependencies>
+              </project>
+              """
+          )
+        );
+    }
+
+    @Test
+    void factsDoNotKeepTheSourceFileInMemory() throws InterruptedException {
+        ExecutionContext ctx = new InMemoryExecutionContext();
+        WeakReference<J.CompilationUnit> parsed = new WeakReference<>(JavaParser.fromJavaVersion()
+          .build()
+          .parse(
+            //language=java
+            """
+              class A extends B {
+              }
+              class B {
+              }
+              """
+          )
+          .map(J.CompilationUnit.class::cast)
+          .peek(cu -> assertThat(ScanFacts.of(cu, ctx).getExtendedClasses()).containsExactly("B"))
+          .findFirst()
+          .orElseThrow());
+
+        for (int i = 0; i < 50 && parsed.get() != null; i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+        assertThat(parsed.get()).isNull();
+    }
+}
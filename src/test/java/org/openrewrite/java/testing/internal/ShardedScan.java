@@ -0,0 +1,162 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.testing.internal;
+
+import org.openrewrite.*;
+import org.openrewrite.internal.InMemoryLargeSourceSet;
+
+import java.io.*;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.BinaryOperator;
+import java.util.function.IntFunction;
+
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Runs a {@link ScanningRecipe} the way a sharded run would: the source files are split round-robin over a number of
+ * shards, every shard is scanned into its own accumulator, the accumulators are serialized, deserialized and merged,
+ * and every shard is edited with the merged accumulator.
+ */
+public final class ShardedScan {
+
+    private ShardedScan() {
+    }
+
+    /**
+     * @return The printed source files after editing, in the order they were given.
+     */
+    public static <A> List<String> run(ScanningRecipe<A> recipe, BinaryOperator<A> merge,
+                                       List<? extends SourceFile> sourceFiles, int shards) {
+        List<List<String>> printed = run(recipe, merge, shards, shard -> shard(sourceFiles, shard, shards));
+        List<String> inOrder = new ArrayList<>(sourceFiles.size());
+        for (int i = 0; i < sourceFiles.size(); i++) {
+            inOrder.add(printed.get(i % shards).get(i / shards));
+        }
+        return inOrder;
+    }
+
+    /**
+     * Like a sharded run on separate workers, each shard is parsed on its own, so that the source files of different
+     * shards share no markers.
+     *
+     * @param parseShard Parses the source files of a shard, given its index.
+     * @return The printed source files of each shard after editing, in the order they were parsed.
+     */
+    public static <A> List<List<String>> run(ScanningRecipe<A> recipe, BinaryOperator<A> merge, int shards,
+                                             IntFunction<List<? extends SourceFile>> parseShard) {
+        List<List<? extends SourceFile>> parsed = new ArrayList<>(shards);
+        A merged = null;
+        for (int shard = 0; shard < shards; shard++) {
+            List<? extends SourceFile> inShard = parseShard.apply(shard);
+            parsed.add(inShard);
+            A acc = recipe.getInitialValue(new InMemoryExecutionContext());
+            run(new ScanningRecipe<A>() {
+                @Override
+                public String getDisplayName() {
+                    return "Scan " + recipe.getDisplayName();
+                }
+
+                @Override
+                public String getDescription() {
+                    return "Only the scan phase of the recipe.";
+                }
+
+                @Override
+                public A getInitialValue(ExecutionContext ctx) {
+                    return acc;
+                }
+
+                @Override
+                public TreeVisitor<?, ExecutionContext> getScanner(A acc) {
+                    return recipe.getScanner(acc);
+                }
+            }, inShard);
+            A received = roundTrip(acc);
+            merged = merged == null ? received : merge.apply(merged, received);
+        }
+
+        A scanned = merged;
+        List<List<String>> printed = new ArrayList<>(shards);
+        for (List<? extends SourceFile> inShard : parsed) {
+            Map<UUID, String> edited = new HashMap<>();
+            for (SourceFile sourceFile : run(new Recipe() {
+                @Override
+                public String getDisplayName() {
+                    return "Edit " + recipe.getDisplayName();
+                }
+
+                @Override
+                public String getDescription() {
+                    return "Only the edit phase of the recipe.";
+                }
+
+                @Override
+                public TreeVisitor<?, ExecutionContext> getVisitor() {
+                    return recipe.getVisitor(scanned);
+                }
+            }, inShard)) {
+                edited.put(sourceFile.getId(), sourceFile.printAll());
+            }
+            printed.add(inShard.stream()
+                    .map(sourceFile -> edited.getOrDefault(sourceFile.getId(), sourceFile.printAll()))
+                    .collect(toList()));
+        }
+        return printed;
+    }
+
+    private static List<SourceFile> run(Recipe recipe, List<? extends SourceFile> sourceFiles) {
+        RecipeRun run = recipe.run(new InMemoryLargeSourceSet(new ArrayList<>(sourceFiles)),
+                new InMemoryExecutionContext(Throwable::printStackTrace), 1);
+        List<SourceFile> edited = new ArrayList<>();
+        for (Result result : run.getChangeset().getAllResults()) {
+            if (result.getAfter() != null) {
+                edited.add(result.getAfter());
+            }
+        }
+        return edited;
+    }
+
+    private static <S> List<S> shard(List<S> sourceFiles, int shard, int shards) {
+        List<S> inShard = new ArrayList<>();
+        for (int i = shard; i < sourceFiles.size(); i += shards) {
+            inShard.add(sourceFiles.get(i));
+        }
+        return inShard;
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <A> A roundTrip(A acc) {
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+                out.writeObject(acc);
+            }
+            try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+                return (A) in.readObject();
+            }
+        } catch (IOException | ClassNotFoundException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public static List<String> printAll(List<? extends SourceFile> sourceFiles) {
+        return sourceFiles.stream().map(SourceFile::printAll).collect(toList());
+    }
+}
@@ -0,0 +1,152 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.testing.internal;
+
+import org.openrewrite.*;
+import org.openrewrite.config.Environment;
+import org.openrewrite.internal.InMemoryLargeSourceSet;
+import org.openrewrite.java.JavaParser;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
+
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Compares the latency of the first and second jobs of a fresh JVM hosting the recipes of this module, with and
+ * without {@link TemplateWarmup} having run at startup. A job parses a JUnit 4 test class and migrates it to JUnit 5.
+ * Run by the {@code benchmarkTemplateWarmup} build task, optionally with the number of JVMs per mode as argument.
+ */
+public class TemplateWarmupBenchmark {
+    private static final String FORK = "--fork";
+    private static final List<String> MODES = Arrays.asList("cold", "warm");
+    private static final String RECIPE = "org.openrewrite.java.testing.junit5.JUnit4to5Migration";
+
+    //language=java
+    private static final String JOB = """
+      import org.junit.Assert;
+      import org.junit.Before;
+      import org.junit.Ignore;
+      import org.junit.Rule;
+      import org.junit.Test;
+      import org.junit.rules.TemporaryFolder;
+
+      import java.io.File;
+
+      public class JobTest {
+          @Rule
+          public TemporaryFolder folder = new TemporaryFolder();
+
+          private int count;
+
+          @Before
+          public void setUp() {
+              count = 1;
+          }
+
+          @Test(expected = IllegalStateException.class)
+          public void throwsException() {
+              throw new IllegalStateException("boom");
+          }
+
+          @Test
+          public void assertions() throws Exception {
+              File file = folder.newFile("a.txt");
+              Assert.assertTrue("exists", file.exists());
+              Assert.assertEquals("count", 1, count);
+              Assert.assertNotNull(file);
+          }
+
+          @Ignore
+          @Test
+          public void ignored() {
+          }
+      }
+      """;
+
+    public static void main(String[] args) throws Exception {
+        if (args.length == 2 && FORK.equals(args[0])) {
+            fork(args[1]);
+            return;
+        }
+
+        int forks = args.length > 0 ? Integer.parseInt(args[0]) : 5;
+        String java = Paths.get(System.getProperty("java.home"), "bin", "java").toString();
+        for (String mode : MODES) {
+            long[] warmup = new long[forks];
+            long[] first = new long[forks];
+            long[] second = new long[forks];
+            for (int i = 0; i < forks; i++) {
+                Process p = new ProcessBuilder(java, "-cp", System.getProperty("java.class.path"),
+                        TemplateWarmupBenchmark.class.getName(), FORK, mode)
+                        .redirectErrorStream(true)
+                        .start();
+                String last = null;
+                try (BufferedReader out = new BufferedReader(new InputStreamReader(p.getInputStream(), StandardCharsets.UTF_8))) {
+                    for (String line = out.readLine(); line != null; line = out.readLine()) {
+                        last = line;
+                    }
+                }
+                if (p.waitFor() != 0 || last == null) {
+                    throw new IllegalStateException("The " + mode + " JVM failed: " + last);
+                }
+                String[] times = last.split(" ");
+                warmup[i] = Long.parseLong(times[0]);
+                first[i] = Long.parseLong(times[1]);
+                second[i] = Long.parseLong(times[2]);
+            }
+            System.out.printf("%-4s warm-up %6d ms, first job %6d ms, second job %6d ms (medians of %d JVMs)%n",
+                    mode, median(warmup), median(first), median(second), forks);
+        }
+    }
+
+    private static void fork(String mode) {
+        Recipe recipe = Environment.builder().load(new CompiledDeclarativeRecipeLoader()).build().activateRecipes(RECIPE);
+        long start = System.nanoTime();
+        if ("warm".equals(mode)) {
+            TemplateWarmup.warmUpInBackground().join();
+        }
+        long warmup = System.nanoTime() - start;
+        long first = job(recipe);
+        long second = job(recipe);
+        System.out.println(warmup / 1_000_000 + " " + first / 1_000_000 + " " + second / 1_000_000);
+    }
+
+    private static long job(Recipe recipe) {
+        long start = System.nanoTime();
+        ExecutionContext ctx = new InMemoryExecutionContext(Throwable::printStackTrace);
+        List<SourceFile> sources = JavaParser.fromJavaVersion()
+                .classpathFromResources(ctx, "junit-4.13", "hamcrest-2.2")
+                .build()
+                .parse(ctx, JOB)
+                .collect(toList());
+        RecipeRun run = recipe.run(new InMemoryLargeSourceSet(sources), ctx);
+        if (run.getChangeset().getAllResults().isEmpty()) {
+            throw new IllegalStateException(RECIPE + " made no changes");
+        }
+        return System.nanoTime() - start;
+    }
+
+    private static long median(long[] values) {
+        long[] sorted = values.clone();
+        Arrays.sort(sorted);
+        return sorted[sorted.length / 2];
+    }
+}
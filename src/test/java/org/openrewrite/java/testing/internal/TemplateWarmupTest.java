@@ -0,0 +1,84 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.testing.internal;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.openrewrite.InMemoryExecutionContext;
+import org.openrewrite.java.JavaParser;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import static java.util.stream.Collectors.toList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TemplateWarmupTest {
+    private static final Pattern CLASSPATH_FROM_RESOURCES = Pattern.compile("classpathFromResources\\(\\s*ctx\\s*,([^)]*)\\)");
+    private static final Pattern LITERAL = Pattern.compile("\"([^\"]+)\"");
+
+    @Test
+    void warmsUpTheClasspathResourceSetsOfEveryTemplate() throws IOException {
+        Set<List<String>> used = new LinkedHashSet<>();
+        List<Path> sources;
+        try (Stream<Path> walk = Files.walk(Paths.get("src/main/java"))) {
+            sources = walk.filter(p -> p.toString().endsWith(".java")).collect(toList());
+        }
+        for (Path source : sources) {
+            Matcher call = CLASSPATH_FROM_RESOURCES.matcher(new String(Files.readAllBytes(source)));
+            while (call.find()) {
+                List<String> resources = new ArrayList<>();
+                Matcher literal = LITERAL.matcher(call.group(1));
+                while (literal.find()) {
+                    resources.add(literal.group(1));
+                }
+                // resources passed in variables are assigned from literals of their own
+                if (!resources.isEmpty()) {
+                    used.add(resources);
+                }
+            }
+        }
+        assertThat(used).isNotEmpty();
+        assertThat(TemplateWarmup.classpathResourceSets()).containsAll(used);
+    }
+
+    @ParameterizedTest
+    @MethodSource("org.openrewrite.java.testing.internal.TemplateWarmup#classpathResourceSets")
+    void everyResourceOfASetIsOnTheParserClasspath(List<String> resources) {
+        assertThat(JavaParser.dependenciesFromResources(new InMemoryExecutionContext(), resources.toArray(new String[0])))
+          .hasSameSizeAs(resources);
+    }
+
+    @Test
+    void warmsUpWithoutErrors() {
+        List<Throwable> errors = new ArrayList<>();
+        TemplateWarmup.warmUp(new InMemoryExecutionContext(errors::add));
+        assertThat(errors).isEmpty();
+    }
+
+    @Test
+    void warmsUpInTheBackground() throws Exception {
+        TemplateWarmup.warmUpInBackground().get(5, TimeUnit.MINUTES);
+    }
+}
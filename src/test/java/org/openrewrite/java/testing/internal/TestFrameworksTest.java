@@ -0,0 +1,126 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.testing.internal;
+
+import org.junit.jupiter.api.Test;
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.InMemoryExecutionContext;
+import org.openrewrite.java.JavaParser;
+import org.openrewrite.java.testing.internal.TestFrameworks.Framework;
+import org.openrewrite.java.tree.J;
+import org.openrewrite.marker.SearchResult;
+
+import java.lang.ref.WeakReference;
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TestFrameworksTest {
+
+    @Test
+    void detectsFrameworksOncePerVersionOfTheSourceFile() {
+        ExecutionContext ctx = new InMemoryExecutionContext();
+        J.CompilationUnit cu = JavaParser.fromJavaVersion()
+          .classpathFromResources(ctx, "junit-jupiter-api-5.9", "assertj-core-3.24")
+          .build()
+          .parse(
+            //language=java
+            """
+              import org.junit.jupiter.api.Test;
+              import org.mockito.Mockito;
+
+              import static org.assertj.core.api.Assertions.assertThat;
+
+              class ATest {
+                  @Test
+                  void test() {
+                      assertThat(1).isOne();
+                  }
+              }
+              """
+          )
+          .map(J.CompilationUnit.class::cast)
+          .findFirst()
+          .orElseThrow();
+
+        TestFrameworks frameworks = TestFrameworks.of(cu, ctx);
+        assertThat(frameworks.uses(Framework.JUNIT5)).isTrue();
+        assertThat(frameworks.uses(Framework.JUNIT4)).isFalse();
+        assertThat(frameworks.uses(Framework.ASSERTJ)).isTrue();
+        // imported, though not on the classpath
+        assertThat(frameworks.uses(Framework.MOCKITO)).isTrue();
+        assertThat(frameworks.usesAny(Framework.TESTNG, Framework.HAMCREST)).isFalse();
+        assertThat(frameworks.isTestSource()).isTrue();
+        assertThat(TestFrameworks.of(cu, ctx)).isSameAs(frameworks);
+
+        J.CompilationUnit withoutImports = cu.withImports(cu.getImports().subList(1, 2)).withClasses(Collections.emptyList());
+        assertThat(TestFrameworks.of(withoutImports, ctx).uses(Framework.JUNIT5)).isFalse();
+        assertThat(TestFrameworks.of(withoutImports, ctx).uses(Framework.MOCKITO)).isTrue();
+    }
+
+    @Test
+    void preconditionMatchesSourceFilesUsingAnyOfTheFrameworks() {
+        ExecutionContext ctx = new InMemoryExecutionContext();
+        J.CompilationUnit cu = JavaParser.fromJavaVersion()
+          .classpathFromResources(ctx, "junit-4.13")
+          .build()
+          .parse(
+            //language=java
+            """
+              import org.junit.Test;
+
+              class ATest {
+                  @Test
+                  public void test() {
+                  }
+              }
+              """
+          )
+          .map(J.CompilationUnit.class::cast)
+          .findFirst()
+          .orElseThrow();
+
+        assertThat(TestFrameworks.using(Framework.JUNIT5, Framework.JUNIT4).visit(cu, ctx))
+          .satisfies(t -> assertThat(t.getMarkers().findFirst(SearchResult.class)).isPresent());
+        assertThat(TestFrameworks.using(Framework.JUNIT5).visit(cu, ctx)).isSameAs(cu);
+    }
+
+    @Test
+    void detectedFrameworksDoNotKeepTheSourceFileInMemory() throws InterruptedException {
+        ExecutionContext ctx = new InMemoryExecutionContext();
+        WeakReference<J.CompilationUnit> parsed = new WeakReference<>(JavaParser.fromJavaVersion()
+          .build()
+          .parse(
+            //language=java
+            """
+              import org.junit.Test;
+
+              class ATest {
+              }
+              """
+          )
+          .map(J.CompilationUnit.class::cast)
+          .peek(cu -> assertThat(TestFrameworks.of(cu, ctx).uses(Framework.JUNIT4)).isTrue())
+          .findFirst()
+          .orElseThrow());
+
+        for (int i = 0; i < 50 && parsed.get() != null; i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+        assertThat(parsed.get()).isNull();
+    }
+}
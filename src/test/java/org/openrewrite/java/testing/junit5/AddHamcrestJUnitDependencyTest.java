@@ -20,9 +20,11 @@ import org.junit.jupiter.api.Test;
 import org.openrewrite.DocumentExample;
 import org.openrewrite.InMemoryExecutionContext;
 import org.openrewrite.java.JavaParser;
+import org.openrewrite.java.testing.internal.ShardedScan;
 import org.openrewrite.test.RecipeSpec;
 import org.openrewrite.test.RewriteTest;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.openrewrite.java.Assertions.java;
 import static org.openrewrite.maven.Assertions.pomXml;
 
@@ -129,4 +131,32 @@ class AddHamcrestJUnitDependencyTest implements RewriteTest {
           pomXml(POM_BEFORE)
         );
     }
+
+    @Test
+    void shouldNotAddWhenAlreadyPresent() {
+        rewriteRun(
+          //language=java
+          java(
+            """
+              class FooTest {
+                  void bar() {
+                      org.junit.Assert.assertThat("a", org.hamcrest.Matchers.is("a"));
+                  }
+              }
+              """
+          ),
+          pomXml(POM_AFTER)
+        );
+    }
+
+    @Test
+    void mergedScanUsesAssertThatWhenAnyShardDoes() {
+        AddHamcrestJUnitDependency.Accumulator using = new AddHamcrestJUnitDependency.Accumulator();
+        using.usingAssertThat = true;
+        AddHamcrestJUnitDependency.Accumulator notUsing = new AddHamcrestJUnitDependency.Accumulator();
+
+        assertThat(ShardedScan.roundTrip(notUsing).merge(ShardedScan.roundTrip(using)).usingAssertThat).isTrue();
+        assertThat(using.merge(notUsing).usingAssertThat).isTrue();
+        assertThat(notUsing.merge(notUsing).usingAssertThat).isFalse();
+    }
 }
@@ -203,4 +203,42 @@ class AddMissingNestedTest implements RewriteTest {
           )
         );
     }
+
+    @Test
+    void innerClassWithOnlyNestedTests() {
+        //language=java
+        rewriteRun(
+          java(
+            """
+              import org.junit.jupiter.api.Test;
+              
+              public class RootTest {
+                  public class WhenGiven {
+                      public class ThenTest {
+                          @Test
+                          public void test() {
+                          }
+                      }
+                  }
+              }
+              """,
+            """
+              import org.junit.jupiter.api.Nested;
+              import org.junit.jupiter.api.Test;
+              
+              public class RootTest {
+                  @Nested
+                  public class WhenGiven {
+                      @Nested
+                      public class ThenTest {
+                          @Test
+                          public void test() {
+                          }
+                      }
+                  }
+              }
+              """
+          )
+        );
+    }
 }
@@ -0,0 +1,291 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.testing.junit5;
+
+import org.junit.jupiter.api.Test;
+import org.openrewrite.*;
+import org.openrewrite.config.Environment;
+import org.openrewrite.internal.InMemoryLargeSourceSet;
+import org.openrewrite.java.JavaParser;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.util.stream.Collectors.toList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Every cycle of a migration is another traversal of all the source files, so the JUnit 4 to 5 migration has to
+ * finish its work in the first cycle and leave nothing for the recipes of a second cycle to do.
+ */
+class JUnit4to5MigrationCyclesTest {
+
+    //language=java
+    private static final String[] CORPUS = {
+      """
+        import junit.framework.TestCase;
+
+        public class LegacyTest extends TestCase {
+            @Override
+            protected void setUp() throws Exception {
+                super.setUp();
+            }
+
+            public void testSum() {
+                assertEquals("sum", 2, 1 + 1);
+                assertTrue(1 < 2);
+            }
+        }
+        """,
+      """
+        import org.junit.After;
+        import org.junit.AfterClass;
+        import org.junit.Before;
+        import org.junit.BeforeClass;
+        import org.junit.Ignore;
+        import org.junit.Test;
+
+        import static org.junit.Assert.assertArrayEquals;
+        import static org.junit.Assert.assertEquals;
+        import static org.junit.Assert.assertNotNull;
+
+        public class LifecycleTest {
+            @BeforeClass
+            public static void beforeAll() {
+            }
+
+            @AfterClass
+            public static void afterAll() {
+            }
+
+            @Before
+            public void setUp() {
+            }
+
+            @After
+            public void tearDown() {
+            }
+
+            @Test
+            public void equal() {
+                assertEquals("message", 1, 1);
+                assertNotNull(new Object());
+                assertArrayEquals(new int[]{1}, new int[]{1});
+            }
+
+            @Ignore("not yet")
+            @Test(expected = IllegalArgumentException.class)
+            public void expected() {
+                throw new IllegalArgumentException("boom");
+            }
+
+            @Test(timeout = 500)
+            public void timeout() {
+            }
+        }
+        """,
+      """
+        import org.junit.Test;
+
+        public class InheritingTest extends LifecycleTest {
+            @Override
+            public void setUp() {
+            }
+
+            @Override
+            public void equal() {
+            }
+        }
+        """,
+      """
+        import org.junit.Rule;
+        import org.junit.Test;
+        import org.junit.rules.ExpectedException;
+        import org.junit.rules.TemporaryFolder;
+
+        import java.io.File;
+        import java.io.IOException;
+
+        public class RulesTest {
+            @Rule
+            public ExpectedException thrown = ExpectedException.none();
+
+            @Rule
+            public TemporaryFolder folder = new TemporaryFolder();
+
+            @Test
+            public void throwsWithMessage() {
+                thrown.expect(IllegalStateException.class);
+                thrown.expectMessage("boom");
+                throw new IllegalStateException("boom");
+            }
+
+            @Test
+            public void createsFile() throws IOException {
+                File file = folder.newFile("a.txt");
+            }
+        }
+        """,
+      """
+        import org.junit.Assume;
+        import org.junit.FixMethodOrder;
+        import org.junit.Test;
+        import org.junit.experimental.categories.Category;
+        import org.junit.runner.RunWith;
+        import org.junit.runners.JUnit4;
+        import org.junit.runners.MethodSorters;
+
+        import static org.hamcrest.MatcherAssert.assertThat;
+        import static org.hamcrest.Matchers.is;
+        import static org.junit.Assert.fail;
+
+        @RunWith(JUnit4.class)
+        @FixMethodOrder(MethodSorters.NAME_ASCENDING)
+        @Category(Integer.class)
+        public class OrderedTest {
+            @Test
+            public void assumes() {
+                Assume.assumeTrue(true);
+                assertThat(1, is(1));
+            }
+
+            @Test
+            public void fails() {
+                try {
+                    Integer.parseInt("x");
+                    fail("expected a NumberFormatException");
+                } catch (NumberFormatException expected) {
+                }
+            }
+        }
+        """,
+      """
+        import org.junit.Test;
+        import org.junit.runner.RunWith;
+        import org.junit.runners.Parameterized;
+        import org.junit.runners.Parameterized.Parameters;
+
+        import java.util.Arrays;
+        import java.util.List;
+
+        import static org.junit.Assert.assertEquals;
+
+        @RunWith(Parameterized.class)
+        public class ParametersTest {
+            private final int value;
+
+            public ParametersTest(int value) {
+                this.value = value;
+            }
+
+            @Parameters
+            public static List<Object[]> values() {
+                return Arrays.asList(new Object[]{1}, new Object[]{2});
+            }
+
+            @Test
+            public void positive() {
+                assertEquals(true, value > 0);
+            }
+        }
+        """,
+      """
+        import org.junit.Before;
+        import org.junit.Test;
+        import org.junit.runner.RunWith;
+        import org.mockito.Mock;
+        import org.mockito.runners.MockitoJUnitRunner;
+
+        import java.util.List;
+
+        import static org.mockito.Matchers.anyInt;
+        import static org.mockito.Matchers.anyObject;
+        import static org.mockito.Mockito.verify;
+        import static org.mockito.Mockito.when;
+
+        @RunWith(MockitoJUnitRunner.class)
+        public class MockingTest {
+            @Mock
+            List<Object> list;
+
+            @Before
+            public void setUp() {
+                when(list.get(anyInt())).thenReturn("a");
+            }
+
+            @Test
+            public void adds() {
+                list.add(anyObject());
+                verify(list).add(anyObject());
+            }
+        }
+        """,
+      """
+        public class NotATest {
+            int value() {
+                return 1;
+            }
+        }
+        """
+    };
+
+    @Test
+    void noRecipeAsksForAnotherCycle() {
+        List<String> causingAnotherCycle = new ArrayList<>();
+        collectRecipesCausingAnotherCycle(migration(), causingAnotherCycle);
+        assertThat(causingAnotherCycle).isEmpty();
+    }
+
+    @Test
+    void reachesAFixedPointInOneCycle() {
+        ExecutionContext ctx = new InMemoryExecutionContext(t -> {
+            throw new AssertionError(t);
+        });
+        List<SourceFile> sources = JavaParser.fromJavaVersion()
+          .classpathFromResources(ctx, "junit-4.13", "hamcrest-2.2", "mockito-all-1.10")
+          .build()
+          .parse(ctx, CORPUS)
+          .collect(toList());
+
+        List<Result> firstCycle = migration().run(new InMemoryLargeSourceSet(sources), ctx, 1, 1)
+          .getChangeset().getAllResults();
+        assertThat(firstCycle).hasSize(CORPUS.length - 1);
+
+        List<SourceFile> migrated = new ArrayList<>(sources);
+        for (Result result : firstCycle) {
+            migrated.set(sources.indexOf(result.getBefore()), result.getAfter());
+        }
+        List<Result> secondCycle = migration().run(new InMemoryLargeSourceSet(migrated), ctx, 1, 1)
+          .getChangeset().getAllResults();
+        assertThat(secondCycle.stream().map(Result::diff).collect(toList())).isEmpty();
+    }
+
+    private static Recipe migration() {
+        return Environment.builder()
+          .scanRuntimeClasspath("org.openrewrite.java.testing.junit5")
+          .build()
+          .activateRecipes("org.openrewrite.java.testing.junit5.JUnit4to5Migration");
+    }
+
+    private static void collectRecipesCausingAnotherCycle(Recipe recipe, List<String> causingAnotherCycle) {
+        if (recipe.causesAnotherCycle()) {
+            causingAnotherCycle.add(recipe.getName());
+        }
+        for (Recipe child : recipe.getRecipeList()) {
+            collectRecipesCausingAnotherCycle(child, causingAnotherCycle);
+        }
+    }
+}
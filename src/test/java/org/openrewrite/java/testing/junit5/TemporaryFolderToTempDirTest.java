@@ -20,11 +20,15 @@ import org.openrewrite.DocumentExample;
 import org.openrewrite.InMemoryExecutionContext;
 import org.openrewrite.Issue;
 import org.openrewrite.groovy.GroovyParser;
+import org.openrewrite.java.JavaIsoVisitor;
 import org.openrewrite.java.JavaParser;
+import org.openrewrite.java.tree.J;
+import org.openrewrite.java.tree.TypeUtils;
 import org.openrewrite.test.RecipeSpec;
 import org.openrewrite.test.RewriteTest;
 import org.openrewrite.test.TypeValidation;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.openrewrite.groovy.Assertions.groovy;
 import static org.openrewrite.java.Assertions.java;
 
@@ -121,6 +125,106 @@ class TemporaryFolderToTempDirTest implements RewriteTest {
         );
     }
 
+    @Test
+    void retypesMethodCallsOnConvertedFields() {
+        //language=java
+        rewriteRun(
+          java(
+            """
+              import org.junit.Rule;
+              import org.junit.Test;
+              import org.junit.rules.TemporaryFolder;
+
+              public class MyTest {
+                  @Rule
+                  public TemporaryFolder tmpFolder = new TemporaryFolder();
+
+                  @Test
+                  public void test() {
+                      tmpFolder.delete();
+                      this.tmpFolder.delete();
+                  }
+              }
+              """,
+            """
+              import org.junit.Test;
+              import org.junit.jupiter.api.io.TempDir;
+
+              import java.io.File;
+
+              public class MyTest {
+                  @TempDir
+                  public File tmpFolder;
+
+                  @Test
+                  public void test() {
+                      tmpFolder.delete();
+                      this.tmpFolder.delete();
+                  }
+              }
+              """,
+            spec -> spec.afterRecipe(cu -> new JavaIsoVisitor<Integer>() {
+                @Override
+                public J.MethodInvocation visitMethodInvocation(J.MethodInvocation method, Integer p) {
+                    assertThat(method.getMethodType()).isNotNull();
+                    assertThat(method.getMethodType().getDeclaringType().getFullyQualifiedName()).isEqualTo("java.io.File");
+                    assertThat(method.getName().getType()).isSameAs(method.getMethodType());
+                    assertThat(TypeUtils.isOfClassType(method.getSelect().getType(), "java.io.File")).isTrue();
+                    return method;
+                }
+            }.visit(cu, 0))
+          )
+        );
+    }
+
+    @Test
+    void retypesOtherReferencesToTemporaryFolder() {
+        //language=java
+        rewriteRun(
+          java(
+            """
+              import org.junit.Rule;
+              import org.junit.Test;
+              import org.junit.rules.TemporaryFolder;
+
+              public class MyTest {
+                  @Rule
+                  public TemporaryFolder tmpFolder = new TemporaryFolder();
+
+                  @Test
+                  public void test() {
+                      clean(tmpFolder);
+                  }
+
+                  private static void clean(TemporaryFolder folder) {
+                      folder.delete();
+                  }
+              }
+              """,
+            """
+              import org.junit.Test;
+              import org.junit.jupiter.api.io.TempDir;
+
+              import java.io.File;
+
+              public class MyTest {
+                  @TempDir
+                  public File tmpFolder;
+
+                  @Test
+                  public void test() {
+                      clean(tmpFolder);
+                  }
+
+                  private static void clean(File folder) {
+                      folder.delete();
+                  }
+              }
+              """
+          )
+        );
+    }
+
     @Test
     void temporaryFolderInstantiatedWithParentFolder() {
         //language=java
@@ -496,6 +496,43 @@ class UpdateTestAnnotationTest implements RewriteTest {
         );
     }
 
+    @Test
+    void migrateOtherReferencesNextToAnnotations() {
+        //language=java
+        rewriteRun(
+          java(
+            """
+              import org.junit.Test;
+
+              import java.lang.annotation.Annotation;
+
+              public class MyTest {
+                  Class<? extends Annotation> type = Test.class;
+                  Class<? extends Annotation> qualified = org.junit.Test.class;
+
+                  @Test
+                  public void test() {
+                  }
+              }
+              """,
+            """
+              import org.junit.jupiter.api.Test;
+
+              import java.lang.annotation.Annotation;
+
+              public class MyTest {
+                  Class<? extends Annotation> type = Test.class;
+                  Class<? extends Annotation> qualified = org.junit.jupiter.api.Test.class;
+
+                  @Test
+                  public void test() {
+                  }
+              }
+              """
+          )
+        );
+    }
+
     @Test
     void usedInJavadoc() {
         //language=java
@@ -147,4 +147,63 @@ class MockitoWhenOnStaticToMockStaticTest implements RewriteTest {
           )
         );
     }
+
+    @Test
+    void shouldHandleManyStaticMocks() {
+        int stubs = 30;
+        StringBuilder before = new StringBuilder();
+        StringBuilder after = new StringBuilder();
+        for (int i = 0; i < stubs; i++) {
+            String mockName = i == 0 ? "mockA" : "mockA" + i;
+            String indent = "        " + "    ".repeat(i);
+            before.append("        when(A.getNumber()).thenReturn(-%1$d);\n".formatted(i))
+              .append("        assertEquals(A.getNumber(), -%1$d);\n".formatted(i));
+            after.append("%1$stry (MockedStatic<A> %2$s = mockStatic(A.class)) {\n".formatted(indent, mockName))
+              .append("%1$s    %2$s.when(A.getNumber()).thenReturn(-%3$d);\n".formatted(indent, mockName, i))
+              .append("%1$s    assertEquals(A.getNumber(), -%2$d);\n".formatted(indent, i));
+        }
+        for (int i = stubs - 1; i >= 0; i--) {
+            after.append("        ").append("    ".repeat(i)).append("}\n");
+        }
+        //language=java
+        rewriteRun(
+          spec -> spec.afterTypeValidationOptions(TypeValidation.builder().identifiers(false).build()),
+          java(
+            """
+              package com.foo;
+              public class A {
+                  public static Integer getNumber() {
+                      return 42;
+                  }
+              }
+              """,
+            SourceSpec::skip
+          ),
+          java(
+            """
+              import com.foo.A;
+
+              import static org.junit.Assert.assertEquals;
+              import static org.mockito.Mockito.*;
+
+              class Test {
+                  void test() {
+              %s    }
+              }
+              """.formatted(before),
+            """
+              import com.foo.A;
+              import org.mockito.MockedStatic;
+
+              import static org.junit.Assert.assertEquals;
+              import static org.mockito.Mockito.*;
+
+              class Test {
+                  void test() {
+              %s    }
+              }
+              """.formatted(after)
+          )
+        );
+    }
 }
@@ -18,12 +18,26 @@ package org.openrewrite.java.testing.mockito;
 import org.intellij.lang.annotations.Language;
 import org.junit.jupiter.api.Test;
 import org.openrewrite.DocumentExample;
+import org.openrewrite.ExecutionContext;
 import org.openrewrite.InMemoryExecutionContext;
+import org.openrewrite.SourceFile;
+import org.openrewrite.Tree;
 import org.openrewrite.java.JavaParser;
+import org.openrewrite.java.marker.JavaProject;
+import org.openrewrite.java.testing.internal.ShardedScan;
+import org.openrewrite.maven.MavenParser;
 import org.openrewrite.test.RecipeSpec;
 import org.openrewrite.test.RewriteTest;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.openrewrite.java.Assertions.java;
+import static org.openrewrite.java.Assertions.mavenProject;
 import static org.openrewrite.maven.Assertions.pomXml;
 
 class RetainStrictnessWarnTest implements RewriteTest {
@@ -136,4 +150,81 @@ class RetainStrictnessWarnTest implements RewriteTest {
           java(JAVA_BEFORE)
         );
     }
+
+    @Test
+    void onlyChangeModulesOnOlderMockito() {
+        rewriteRun(
+          mavenProject("older",
+            pomXml(POM_XML_WITH_OLDER_MOCKITO),
+            java(JAVA_BEFORE, JAVA_AFTER)
+          ),
+          mavenProject("newer",
+            //language=xml
+            pomXml(
+              """
+                <project>
+                  <modelVersion>4.0.0</modelVersion>
+                  <groupId>bla.bla</groupId>
+                  <artifactId>newer</artifactId>
+                  <version>1.0.0</version>
+                  <dependencies>
+                    <dependency>
+                        <groupId>org.mockito</groupId>
+                        <artifactId>mockito-core</artifactId>
+                        <version>2.17.0</version>
+                        <scope>test</scope>
+                    </dependency>
+                  </dependencies>
+                </project>
+                """
+            ),
+            //language=java
+            java(
+              """
+                import org.junit.jupiter.api.extension.ExtendWith;
+                import org.mockito.junit.jupiter.MockitoExtension;
+                
+                @ExtendWith(MockitoExtension.class)
+                class OtherTest {
+                }
+                """
+            )
+          )
+        );
+    }
+
+    @Test
+    void shardedScanMatchesUnshardedScan() {
+        List<String> unsharded = ShardedScan.run(new RetainStrictnessWarn(), ProjectsWithDependency::merge, 1,
+          shard -> parseShard(shard, 1)).get(0);
+        assertThat(unsharded).filteredOn(printed -> printed.contains("Strictness.WARN")).hasSize(2);
+        assertThat(ShardedScan.run(new RetainStrictnessWarn(), ProjectsWithDependency::merge, 4,
+          shard -> parseShard(shard, 4)).stream().flatMap(List::stream))
+          .containsExactlyInAnyOrderElementsOf(unsharded);
+    }
+
+    /**
+     * Parses the build and test files of six modules dealt round-robin over the shards, so that the build file and the
+     * test of a module end up in different shards, with project markers of their own.
+     */
+    private static List<SourceFile> parseShard(int shard, int shards) {
+        ExecutionContext ctx = new InMemoryExecutionContext();
+        JavaParser.Builder<?, ?> javaParser = JavaParser.fromJavaVersion()
+          .classpathFromResources(ctx, "mockito-core", "mockito-junit-jupiter", "junit-jupiter-api");
+        String pomWithNewerMockito = POM_XML_WITH_OLDER_MOCKITO
+          .replace("mockito-all", "mockito-core")
+          .replace("<version>1.1</version>", "<version>2.17.0</version>");
+        Map<Integer, JavaProject> projects = new HashMap<>();
+        List<SourceFile> sourceFiles = new ArrayList<>();
+        for (int file = shard; file < 12; file += shards) {
+            int module = file / 2;
+            JavaProject project = projects.computeIfAbsent(module,
+              m -> new JavaProject(Tree.randomId(), "module" + m, null));
+            Stream<SourceFile> parsed = file % 2 == 0 ?
+              MavenParser.builder().build().parse(ctx, module % 3 == 0 ? POM_XML_WITH_OLDER_MOCKITO : pomWithNewerMockito) :
+              javaParser.build().parse(ctx, JAVA_BEFORE.replace("MyTest", "MyTest" + module));
+            parsed.map(s -> s.<SourceFile>withMarkers(s.getMarkers().add(project))).forEach(sourceFiles::add);
+        }
+        return sourceFiles;
+    }
 }
@@ -0,0 +1,147 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.testing.internal;
+
+import org.yaml.snakeyaml.LoaderOptions;
+import org.yaml.snakeyaml.Yaml;
+import org.yaml.snakeyaml.constructor.SafeConstructor;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.*;
+import java.util.stream.Stream;
+
+import static java.util.stream.Collectors.toList;
+import static org.openrewrite.java.testing.internal.CompiledDeclarativeRecipeLoader.*;
+
+/**
+ * Compiles the declarative recipes in {@code META-INF/rewrite/*.yml}, along with their examples and the attributions in
+ * {@code META-INF/rewrite/attribution/*.yml}, at build time to a compact binary descriptor, which
+ * {@link CompiledDeclarativeRecipeLoader} turns into recipes without parsing YAML. The YAML stays the source of truth:
+ * the descriptor holds the same documents, with every string written once.
+ */
+public final class DeclarativeRecipeCompiler {
+    private static final Set<Object> COMPILED_TYPES = new HashSet<>(Arrays.asList(
+            RECIPE_TYPE, CATEGORY_TYPE, EXAMPLE_TYPE, ATTRIBUTION_TYPE));
+
+    private DeclarativeRecipeCompiler() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            throw new IllegalArgumentException("Usage: DeclarativeRecipeCompiler <directory of recipe YAML> <descriptor file>");
+        }
+        compile(Paths.get(args[0]), Paths.get(args[1]));
+    }
+
+    public static void compile(Path yamlDirectory, Path descriptor) throws IOException {
+        List<Path> files = new ArrayList<>(yamlFiles(yamlDirectory));
+        Path attributions = yamlDirectory.resolve("attribution");
+        if (Files.isDirectory(attributions)) {
+            files.addAll(yamlFiles(attributions));
+        }
+
+        List<Object> documents = new ArrayList<>();
+        for (Path file : files) {
+            String yaml = new String(Files.readAllBytes(file), StandardCharsets.UTF_8);
+            if (yaml.contains("${")) {
+                // the YAML loader resolves placeholders against the properties of the run, which a build can't know
+                throw new IllegalStateException(file + " uses property placeholders, which can't be compiled");
+            }
+            for (Object document : new Yaml(new SafeConstructor(new LoaderOptions())).loadAll(yaml)) {
+                if (document == null) {
+                    continue;
+                }
+                Object type = document instanceof Map ? ((Map<?, ?>) document).get("type") : null;
+                if (!COMPILED_TYPES.contains(type)) {
+                    throw new IllegalStateException(file + " contains a document of type " + type + ", which can't be compiled");
+                }
+                documents.add(RESOURCE_DIRECTORY + yamlDirectory.relativize(file).toString().replace('\\', '/'));
+                documents.add(document);
+            }
+        }
+
+        Path parent = descriptor.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(descriptor)))) {
+            out.writeInt(MAGIC);
+            out.writeShort(VERSION);
+            out.writeInt(documents.size() / 2);
+            Map<String, Integer> strings = new HashMap<>();
+            for (Object value : documents) {
+                write(out, value, strings);
+            }
+        }
+    }
+
+    private static List<Path> yamlFiles(Path directory) throws IOException {
+        try (Stream<Path> list = Files.list(directory)) {
+            return list.filter(p -> p.getFileName().toString().endsWith(".yml")).sorted().collect(toList());
+        }
+    }
+
+    private static void write(DataOutputStream out, Object value, Map<String, Integer> strings) throws IOException {
+        if (value == null) {
+            out.writeByte(NULL);
+        } else if (value instanceof String) {
+            Integer ref = strings.get(value);
+            if (ref == null) {
+                strings.put((String) value, strings.size());
+                out.writeByte(STRING);
+                // length-prefixed rather than writeUTF, which is limited to 64KB, less than an example source may take
+                byte[] bytes = ((String) value).getBytes(StandardCharsets.UTF_8);
+                out.writeInt(bytes.length);
+                out.write(bytes);
+            } else {
+                out.writeByte(STRING_REF);
+                out.writeInt(ref);
+            }
+        } else if (value instanceof Boolean) {
+            out.writeByte((Boolean) value ? TRUE : FALSE);
+        } else if (value instanceof Integer) {
+            out.writeByte(INT);
+            out.writeInt((Integer) value);
+        } else if (value instanceof Long) {
+            out.writeByte(LONG);
+            out.writeLong((Long) value);
+        } else if (value instanceof Double) {
+            out.writeByte(DOUBLE);
+            out.writeDouble((Double) value);
+        } else if (value instanceof List) {
+            List<?> list = (List<?>) value;
+            out.writeByte(LIST);
+            out.writeInt(list.size());
+            for (Object element : list) {
+                write(out, element, strings);
+            }
+        } else if (value instanceof Map) {
+            Map<?, ?> map = (Map<?, ?>) value;
+            out.writeByte(MAP);
+            out.writeInt(map.size());
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                write(out, String.valueOf(entry.getKey()), strings);
+                write(out, entry.getValue(), strings);
+            }
+        } else {
+            throw new IllegalStateException("Values of type " + value.getClass().getName() + " can't be compiled: " + value);
+        }
+    }
+}
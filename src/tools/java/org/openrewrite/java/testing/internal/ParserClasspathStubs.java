@@ -0,0 +1,126 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.testing.internal;
+
+import org.objectweb.asm.*;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+import java.util.zip.ZipOutputStream;
+
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Strips the jars that templates and parsers load with {@code classpathFromResources} down to their API at build time.
+ * Only the class files are kept, without their debug information, private members and method bodies, which is all
+ * the compiler reads to type-attribute code against them. The stubs keep the names of the jars they replace.
+ */
+public final class ParserClasspathStubs {
+    // a fixed entry time keeps the stubs byte-for-byte reproducible
+    private static final long ENTRY_TIME = 315532800000L;
+
+    private ParserClasspathStubs() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            throw new IllegalArgumentException("Usage: ParserClasspathStubs <directory of jars> <directory of stubs>");
+        }
+        Path stubs = Paths.get(args[1]);
+        Files.createDirectories(stubs);
+        for (Path jar : jars(Paths.get(args[0]))) {
+            stub(jar, stubs.resolve(jar.getFileName()));
+        }
+    }
+
+    public static List<Path> jars(Path dir) throws IOException {
+        try (Stream<Path> list = Files.list(dir)) {
+            return list.filter(p -> p.getFileName().toString().endsWith(".jar")).sorted().collect(toList());
+        }
+    }
+
+    public static void stub(Path jar, Path stub) throws IOException {
+        try (ZipInputStream in = new ZipInputStream(new BufferedInputStream(Files.newInputStream(jar)));
+             ZipOutputStream out = new ZipOutputStream(new BufferedOutputStream(Files.newOutputStream(stub)))) {
+            for (ZipEntry entry = in.getNextEntry(); entry != null; entry = in.getNextEntry()) {
+                String name = entry.getName();
+                byte[] content;
+                if (name.endsWith(".class")) {
+                    content = stub(readAll(in));
+                } else if ("META-INF/MANIFEST.MF".equals(name) || name.endsWith(".kotlin_module")) {
+                    // whether the jar is multi-release, and the Kotlin top-level declarations
+                    content = readAll(in);
+                } else {
+                    continue;
+                }
+                ZipEntry stubEntry = new ZipEntry(name);
+                stubEntry.setTime(ENTRY_TIME);
+                out.putNextEntry(stubEntry);
+                out.write(content);
+                out.closeEntry();
+            }
+        }
+    }
+
+    static byte[] stub(byte[] classFile) {
+        ClassWriter writer = new ClassWriter(ClassWriter.COMPUTE_MAXS);
+        new ClassReader(classFile).accept(new ClassVisitor(Opcodes.ASM9, writer) {
+            @Override
+            public FieldVisitor visitField(int access, String name, String descriptor, String signature, Object value) {
+                return (access & Opcodes.ACC_PRIVATE) != 0 ? null : super.visitField(access, name, descriptor, signature, value);
+            }
+
+            @Override
+            public MethodVisitor visitMethod(int access, String name, String descriptor, String signature, String[] exceptions) {
+                if ((access & Opcodes.ACC_PRIVATE) != 0 ||
+                    (access & (Opcodes.ACC_SYNTHETIC | Opcodes.ACC_BRIDGE)) == Opcodes.ACC_SYNTHETIC) {
+                    return null;
+                }
+                MethodVisitor method = super.visitMethod(access, name, descriptor, signature, exceptions);
+                if ((access & (Opcodes.ACC_ABSTRACT | Opcodes.ACC_NATIVE)) != 0) {
+                    return method;
+                }
+                return new MethodVisitor(Opcodes.ASM9, method) {
+                    @Override
+                    public void visitEnd() {
+                        // the smallest body that still verifies: throw null
+                        super.visitCode();
+                        super.visitInsn(Opcodes.ACONST_NULL);
+                        super.visitInsn(Opcodes.ATHROW);
+                        super.visitMaxs(0, 0);
+                        super.visitEnd();
+                    }
+                };
+            }
+        }, ClassReader.SKIP_CODE | ClassReader.SKIP_DEBUG | ClassReader.SKIP_FRAMES);
+        return writer.toByteArray();
+    }
+
+    private static byte[] readAll(InputStream in) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        byte[] buffer = new byte[8192];
+        for (int n = in.read(buffer); n != -1; n = in.read(buffer)) {
+            bytes.write(buffer, 0, n);
+        }
+        return bytes.toByteArray();
+    }
+}
@@ -0,0 +1,357 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.testing.internal;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.jspecify.annotations.Nullable;
+import org.openrewrite.*;
+import org.openrewrite.config.Environment;
+import org.openrewrite.internal.InMemoryLargeSourceSet;
+import org.openrewrite.java.JavaParser;
+
+import java.io.*;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.*;
+import java.util.stream.Stream;
+
+import static java.util.Objects.requireNonNull;
+import static java.util.stream.Collectors.toList;
+
+/**
+ * A resident process that runs the recipes of this module on local projects, so that repeated runs on the same machine
+ * don't each pay for starting a JVM, loading the recipes, extracting the template classpath resources and compiling the
+ * parser and templates. The worker only listens on the loopback address, and handles one job per connection, in the
+ * order they arrive. A job is a line of JSON like:
+ * <pre>{@code
+ * {"token": "...", "recipe": "org.openrewrite.java.testing.junit5.AssertToAssertions", "root": "/path/to/module",
+ *  "classpath": ["/path/to/junit-4.13.2.jar"], "options": {}, "dryRun": false}
+ * }</pre>
+ * As any local process can connect to the port, the worker only accepts jobs carrying the token it writes on startup
+ * to a file that only its owner can read, and which {@link #submit(int, Path, JsonNode)} reads back.
+ * <p>
+ * The worker parses the Java sources under the root against the classpath, runs the recipe, writes the changes back
+ * unless {@code dryRun} is set, and answers with a line of JSON listing the changed paths, the diffs of a dry run and
+ * the errors. Only {@code .java} sources are parsed, so recipes changing build files or other languages see none of
+ * them. The parser of a classpath is kept for the following jobs on the same classpath, and reset between them, so that
+ * the types it already mapped stay cached. A job that can't be read is answered with an error only. A job of {@code {"token": "...", "shutdown":
+ * true}} stops the worker.
+ * <p>
+ * Started with {@code serve <token file> [port]}, and sent jobs with
+ * {@code submit <token file> <port> <recipe> <root> [classpath...]}. This is a developer tool, which isn't published
+ * with the recipes.
+ */
+public class RecipeWorker implements Closeable {
+    private static final Set<String> SKIPPED_DIRECTORIES = new HashSet<>(Arrays.asList("build", "target", "node_modules"));
+    private static final int MAX_PARSERS = 4;
+    private static final TypeReference<Map<String, Object>> OPTIONS = new TypeReference<Map<String, Object>>() {
+    };
+
+    private final ObjectMapper json = new ObjectMapper();
+    private final ServerSocket server;
+    private final Path tokenFile;
+    private final byte[] token;
+    private final CompiledDeclarativeRecipeLoader loader;
+    private final Environment environment;
+    private final Set<String> declarativeRecipes = new HashSet<>();
+    private final Map<JsonNode, Recipe> recipes = new HashMap<>();
+
+    /**
+     * In least to most recently used order.
+     */
+    private final Map<List<Path>, JavaParser> parsers = new LinkedHashMap<List<Path>, JavaParser>(MAX_PARSERS, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<List<Path>, JavaParser> eldest) {
+            return size() > MAX_PARSERS;
+        }
+    };
+
+    public RecipeWorker(int port, Path tokenFile) throws IOException {
+        this.tokenFile = tokenFile;
+        this.token = writeToken(tokenFile);
+        this.server = new ServerSocket(port, 50, InetAddress.getLoopbackAddress());
+        this.loader = new CompiledDeclarativeRecipeLoader();
+        this.environment = Environment.builder().load(loader).build();
+        for (Recipe recipe : environment.listRecipes()) {
+            declarativeRecipes.add(recipe.getName());
+        }
+        TemplateWarmup.warmUpInBackground();
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length >= 2 && "serve".equals(args[0])) {
+            try (RecipeWorker worker = new RecipeWorker(args.length > 2 ? Integer.parseInt(args[2]) : 0, Paths.get(args[1]))) {
+                System.out.println("Listening on " + worker.getPort());
+                worker.serve();
+            }
+        } else if (args.length >= 5 && "submit".equals(args[0])) {
+            ObjectMapper json = new ObjectMapper();
+            ObjectNode job = json.createObjectNode()
+                    .put("recipe", args[3])
+                    .put("root", Paths.get(args[4]).toAbsolutePath().toString());
+            ArrayNode classpath = job.putArray("classpath");
+            for (int i = 5; i < args.length; i++) {
+                classpath.add(Paths.get(args[i]).toAbsolutePath().toString());
+            }
+            System.out.println(submit(Integer.parseInt(args[2]), Paths.get(args[1]), job));
+        } else {
+            throw new IllegalArgumentException("Usage: RecipeWorker serve <token file> [port] | " +
+                                               "submit <token file> <port> <recipe> <root> [classpath...]");
+        }
+    }
+
+    /**
+     * Writes a fresh random token to a file that only the owner can read and write, replacing any previous one.
+     */
+    private static byte[] writeToken(Path tokenFile) throws IOException {
+        byte[] random = new byte[32];
+        new SecureRandom().nextBytes(random);
+        StringBuilder hex = new StringBuilder(random.length * 2);
+        for (byte b : random) {
+            hex.append(String.format("%02x", b));
+        }
+        byte[] token = hex.toString().getBytes(StandardCharsets.UTF_8);
+
+        Path parent = tokenFile.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        Files.deleteIfExists(tokenFile);
+        if (tokenFile.getFileSystem().supportedFileAttributeViews().contains("posix")) {
+            Files.createFile(tokenFile, PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString("rw-------")));
+        } else {
+            File file = Files.createFile(tokenFile).toFile();
+            if (!(file.setReadable(false, false) && file.setReadable(true, true) &&
+                  file.setWritable(false, false) && file.setWritable(true, true))) {
+                throw new IOException("Could not restrict the access to " + tokenFile + " to its owner");
+            }
+        }
+        Files.write(tokenFile, token);
+        return token;
+    }
+
+    public int getPort() {
+        return server.getLocalPort();
+    }
+
+    /**
+     * Handles jobs until one asks the worker to shut down or the worker is closed.
+     */
+    public void serve() throws IOException {
+        while (!server.isClosed()) {
+            Socket socket;
+            try {
+                socket = server.accept();
+            } catch (IOException e) {
+                if (server.isClosed()) {
+                    return;
+                }
+                throw e;
+            }
+            if (!handle(socket)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Handles the job of one connection, so that a client sending a malformed job or going away only fails its own.
+     *
+     * @return Whether to keep serving.
+     */
+    private boolean handle(Socket socket) {
+        try (Socket s = socket;
+             BufferedReader in = new BufferedReader(new InputStreamReader(s.getInputStream(), StandardCharsets.UTF_8));
+             Writer out = new OutputStreamWriter(s.getOutputStream(), StandardCharsets.UTF_8)) {
+            String line = in.readLine();
+            if (line == null) {
+                return true;
+            }
+            JsonNode job;
+            try {
+                job = json.readTree(line);
+            } catch (JsonProcessingException e) {
+                answer(out, error("Malformed job: " + e.getOriginalMessage()));
+                return true;
+            }
+            if (!job.isObject() || !MessageDigest.isEqual(token, job.path("token").asText().getBytes(StandardCharsets.UTF_8))) {
+                answer(out, error("Missing or wrong token, which the worker wrote to " + tokenFile));
+                return true;
+            }
+            if (job.path("shutdown").asBoolean()) {
+                answer(out, json.createObjectNode());
+                return false;
+            }
+            answer(out, run(job));
+        } catch (IOException e) {
+            // the client went away, which leaves nobody to answer
+        }
+        return true;
+    }
+
+    private void answer(Writer out, JsonNode response) throws IOException {
+        out.write(json.writeValueAsString(response) + "\n");
+        out.flush();
+    }
+
+    private ObjectNode error(String message) {
+        ObjectNode response = json.createObjectNode();
+        response.putArray("errors").add(message);
+        return response;
+    }
+
+    /**
+     * Sends a job to the worker listening on the port, along with the token that the worker wrote to the file.
+     */
+    public static JsonNode submit(int port, Path tokenFile, JsonNode job) throws IOException {
+        ObjectMapper json = new ObjectMapper();
+        ObjectNode authenticated = json.createObjectNode()
+                .put("token", new String(Files.readAllBytes(tokenFile), StandardCharsets.UTF_8).trim());
+        authenticated.setAll((ObjectNode) job);
+        try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), port);
+             Writer out = new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8);
+             BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8))) {
+            out.write(json.writeValueAsString(authenticated) + "\n");
+            out.flush();
+            String response = in.readLine();
+            if (response == null) {
+                throw new EOFException("The worker closed the connection without answering");
+            }
+            return json.readTree(response);
+        }
+    }
+
+    ObjectNode run(JsonNode job) {
+        long start = System.nanoTime();
+        ObjectNode response = json.createObjectNode();
+        ArrayNode errors = response.putArray("errors");
+        ExecutionContext ctx = new InMemoryExecutionContext(t -> errors.add(String.valueOf(t)));
+        try {
+            Recipe recipe = recipe(job);
+            Validated<Object> validation = recipe.validate(ctx);
+            if (validation.isInvalid()) {
+                for (Validated.Invalid<Object> failure : validation.failures()) {
+                    errors.add(failure.getProperty() + ": " + failure.getMessage());
+                }
+                return response;
+            }
+
+            Path root = Paths.get(job.path("root").asText()).toAbsolutePath();
+            List<Path> classpath = new ArrayList<>();
+            for (JsonNode entry : job.path("classpath")) {
+                classpath.add(Paths.get(entry.asText()));
+            }
+            List<SourceFile> sources = parser(classpath)
+                    .parse(javaSources(root), root, ctx)
+                    .collect(toList());
+
+            boolean dryRun = job.path("dryRun").asBoolean();
+            ArrayNode changed = response.putArray("changed");
+            @Nullable ArrayNode diffs = dryRun ? response.putArray("diffs") : null;
+            for (Result result : recipe.run(new InMemoryLargeSourceSet(sources), ctx).getChangeset().getAllResults()) {
+                SourceFile before = result.getBefore();
+                SourceFile after = result.getAfter();
+                changed.add(String.valueOf(after == null ? requireNonNull(before).getSourcePath() : after.getSourcePath()));
+                if (diffs != null) {
+                    diffs.add(result.diff());
+                } else {
+                    write(root, before, after);
+                }
+            }
+        } catch (Exception e) {
+            errors.add(String.valueOf(e));
+        } finally {
+            response.put("millis", (System.nanoTime() - start) / 1_000_000);
+        }
+        return response;
+    }
+
+    private Recipe recipe(JsonNode job) {
+        String name = job.path("recipe").asText();
+        JsonNode options = job.path("options");
+        ObjectNode key = json.createObjectNode().put("recipe", name).set("options", options);
+        return recipes.computeIfAbsent(key, k -> {
+            if (declarativeRecipes.contains(name)) {
+                if (options.size() > 0) {
+                    throw new IllegalArgumentException("Declarative recipe " + name + " takes no options");
+                }
+                return environment.activateRecipes(name);
+            }
+            return loader.instantiateRecipe(name, options.isObject() ? json.convertValue(options, OPTIONS) : new HashMap<>());
+        });
+    }
+
+    /**
+     * The parser of the classpath, reset from any previous job, but keeping the types it mapped in earlier jobs.
+     */
+    private JavaParser parser(List<Path> classpath) {
+        JavaParser parser = parsers.get(classpath);
+        if (parser == null) {
+            parser = JavaParser.fromJavaVersion().classpath(classpath).build();
+            parsers.put(classpath, parser);
+        } else {
+            parser.reset();
+        }
+        return parser;
+    }
+
+    private static List<Path> javaSources(Path root) throws IOException {
+        try (Stream<Path> walk = Files.walk(root)) {
+            return walk
+                    .filter(p -> p.toString().endsWith(".java") && Files.isRegularFile(p))
+                    .filter(p -> {
+                        for (Path segment : root.relativize(p)) {
+                            String name = segment.toString();
+                            if (SKIPPED_DIRECTORIES.contains(name) || name.startsWith(".")) {
+                                return false;
+                            }
+                        }
+                        return true;
+                    })
+                    .collect(toList());
+        }
+    }
+
+    private static void write(Path root, @Nullable SourceFile before, @Nullable SourceFile after) throws IOException {
+        if (before != null && (after == null || !before.getSourcePath().equals(after.getSourcePath()))) {
+            Files.delete(root.resolve(before.getSourcePath()));
+        }
+        if (after != null) {
+            Path path = root.resolve(after.getSourcePath());
+            Files.createDirectories(path.getParent());
+            Files.write(path, after.printAll().getBytes(after.getCharset() == null ? StandardCharsets.UTF_8 : after.getCharset()));
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        server.close();
+        Files.deleteIfExists(tokenFile);
+    }
+}